@@ -2,7 +2,7 @@ package ch.awae.utils;
 
 import java.util.Objects;
 
-import ch.awae.utils.collection.mutable.PriorityQueue;
+import ch.awae.utils.collection.mutable.ConcurrentPriorityQueue;
 
 /**
  * This class serves as a wrapper for the Java-side Shutdown handlers with the
@@ -13,14 +13,14 @@ import ch.awae.utils.collection.mutable.PriorityQueue;
  */
 public final class Shutdown {
 
-    private final PriorityQueue<Runnable> queue;
+    private final ConcurrentPriorityQueue<Runnable> queue;
 
     /**
      * Creates a new Shutdown instance. On instantiation the shutdown instance
      * is automatically registered to the global shutdown handling.
      */
     public Shutdown() {
-        this.queue = PriorityQueue.maxQueue();
+        this.queue = ConcurrentPriorityQueue.maxQueue();
         Runtime.getRuntime().addShutdownHook(new Thread(this::runShutdown));
     }
 
@@ -116,9 +116,9 @@ public final class Shutdown {
     }
 
     private final void runShutdown() {
-        
-        while (!queue.isEmpty()) {
-            queue.poll().run();
+        Runnable r;
+        while ((r = queue.poll()) != null) {
+            r.run();
         }
     }
 
@@ -0,0 +1,255 @@
+package ch.awae.utils.collection.immutable;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable Single-Linked List of {@code int} values.
+ *
+ * Instead of one node per element, the values are stored unboxed in chunks.
+ * Each chunk is filled from the back to the front: prepending to a list whose
+ * head is the first used slot of its chunk claims the next free slot of the
+ * same chunk. The slot is claimed atomically, so only one of several lists
+ * prepended to the same list can reuse the chunk, all others start a new one.
+ * The first list to outgrow a full chunk continues with a chunk twice its
+ * size, any other new chunk starts small, so branching off a long list stays
+ * cheap.
+ * Lists therefore share their tails just like {@link List} does.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+public final class IntList {
+
+    private static final int MIN_CHUNK = 8;
+    private static final int MAX_CHUNK = 1024;
+
+    private static final class Chunk {
+        final int[] values;
+        // the first used slot. slots before it may be claimed by prepending.
+        // -1 once a prepend has continued the full chunk with a larger one
+        volatile int free;
+        // the list following the last value of this chunk
+        final IntList rest;
+
+        Chunk(int[] values, int free, IntList rest) {
+            this.values = values;
+            this.free = free;
+            this.rest = rest;
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Chunk> FREE = AtomicIntegerFieldUpdater.newUpdater(Chunk.class,
+            "free");
+
+    private static final IntList EMPTY_LIST = new IntList(null, 0, 0);
+
+    /**
+     * Provides the empty list
+     *
+     * @return the empty list
+     */
+    public static IntList empty() {
+        return EMPTY_LIST;
+    }
+
+    /**
+     * Creates a new list from an array of values
+     *
+     * @param values
+     *            the values to create a list for
+     * @return the list containing the values
+     */
+    public static IntList of(int... values) {
+        if (values.length == 0)
+            return EMPTY_LIST;
+        return new IntList(new Chunk(values.clone(), 0, EMPTY_LIST), 0, values.length);
+    }
+
+    private final Chunk chunk;
+    private final int offset;
+    private final int size;
+
+    private IntList(Chunk chunk, int offset, int size) {
+        this.chunk = chunk;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Indicates if this is the empty list
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the head of the list
+     *
+     * @return the head
+     * @throws NoSuchElementException
+     *             this is the empty list
+     */
+    public int head() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return chunk.values[offset];
+    }
+
+    /**
+     * Returns the tail of the list
+     *
+     * @return the tail
+     * @throws NoSuchElementException
+     *             this is the empty list
+     */
+    public IntList tail() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        if (offset + 1 < chunk.values.length)
+            return new IntList(chunk, offset + 1, size - 1);
+        return chunk.rest;
+    }
+
+    /**
+     * Creates a new list with the provided value as the head and this list as
+     * the tail
+     *
+     * @param value
+     *            the value to prepend
+     * @return a new list
+     */
+    public IntList prepend(int value) {
+        if (chunk != null && offset > 0 && chunk.free == offset && FREE.compareAndSet(chunk, offset, offset - 1)) {
+            chunk.values[offset - 1] = value;
+            return new IntList(chunk, offset - 1, size + 1);
+        }
+        int length = MIN_CHUNK;
+        if (chunk != null && offset == 0 && FREE.compareAndSet(chunk, 0, -1))
+            length = chunk.values.length < MAX_CHUNK / 2 ? 2 * chunk.values.length : MAX_CHUNK;
+        int[] values = new int[length];
+        values[length - 1] = value;
+        return new IntList(new Chunk(values, length - 1, this), length - 1, size + 1);
+    }
+
+    /**
+     * Retrieves the value at a given index
+     *
+     * @return the value
+     * @throws IndexOutOfBoundsException
+     *             the index is out of bounds
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index out of bounds: " + index);
+        IntList list = this;
+        while (index >= list.chunk.values.length - list.offset) {
+            index -= list.chunk.values.length - list.offset;
+            list = list.chunk.rest;
+        }
+        return list.chunk.values[list.offset + index];
+    }
+
+    /**
+     * Iterates over all values without boxing them
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+
+            Chunk current = chunk;
+            int index = offset;
+            int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (remaining == 0)
+                    throw new NoSuchElementException();
+                int value = current.values[index++];
+                if (--remaining > 0 && index == current.values.length) {
+                    IntList rest = current.rest;
+                    current = rest.chunk;
+                    index = rest.offset;
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Creates a sequential stream over the values of this list
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+    }
+
+    public int[] toArray() {
+        int[] array = new int[size];
+        int index = 0;
+        IntList list = this;
+        while (!list.isEmpty()) {
+            int count = list.chunk.values.length - list.offset;
+            System.arraycopy(list.chunk.values, list.offset, array, index, count);
+            index += count;
+            list = list.chunk.rest;
+        }
+        return array;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext())
+            result = 31 * result + Integer.hashCode(it.nextInt());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof IntList))
+            return false;
+        IntList other = (IntList) obj;
+        if (size != other.size)
+            return false;
+        PrimitiveIterator.OfInt a = iterator();
+        PrimitiveIterator.OfInt b = other.iterator();
+        while (a.hasNext())
+            if (a.nextInt() != b.nextInt())
+                return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntList(");
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            sb.append(it.nextInt());
+            if (it.hasNext())
+                sb.append(',');
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
+}
@@ -1,11 +1,23 @@
 package ch.awae.utils.collection.immutable;
 
-import java.io.Serializable;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ch.awae.utils.serial.SerializationProxy;
+import ch.awae.utils.serial.SerializedThroughProxy;
 
 /**
  * Immutable Single-Linked List.
@@ -16,13 +28,15 @@ import java.util.Objects;
  * @param <T>
  *            the element type for the list
  */
-public class List<T> implements Iterable<T>, Serializable {
+public class List<T> implements Iterable<T>, SerializedThroughProxy {
 
     private static final long serialVersionUID = 8338929059809007954L;
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private final static List EMPTY_LIST = new List(null, null);
 
+    private static final int EMPTY_HASH = 31 * 31;
+
     /**
      * Provides the empty list for any type argument
      * 
@@ -41,12 +55,20 @@ public class List<T> implements Iterable<T>, Serializable {
      * @return the list containing the elements
      */
     @SafeVarargs
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "varargs" })
     public static <T> List<T> of(T... ts) {
-        List<T> list = EMPTY_LIST;
-        for (int i = ts.length - 1; i >= 0; i--)
-            list = new List<>(ts[i], list);
-        return list;
+        return link(ts, ts.length, EMPTY_LIST);
+    }
+
+    /**
+     * links up the first {@code count} elements of an array in front of a tail
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> link(Object[] elements, int count, List<? extends T> tail) {
+        List<? extends T> list = tail;
+        for (int i = count - 1; i >= 0; i--)
+            list = new List<>((T) elements[i], list);
+        return (List<T>) list;
     }
 
     /**
@@ -65,6 +87,8 @@ public class List<T> implements Iterable<T>, Serializable {
     private final int size;
     private final T head;
     private final List<? extends T> tail;
+    // cached hash code, 0 if not yet computed
+    private transient int hash;
 
     /**
      * Creates a new list from a head and a tail.
@@ -136,6 +160,118 @@ public class List<T> implements Iterable<T>, Serializable {
         return new List<>(element, this);
     }
 
+    /**
+     * Creates a new list with the provided element appended to the end of this
+     * list. This copies the whole list.
+     * 
+     * @param element
+     *            the element to append
+     * @return a new list
+     * @since awaeUtils 2.2.0
+     */
+    public List<T> append(T element) {
+        return new ListBuilder<T>(size).addAll(this).buildOnto(List.of(element));
+    }
+
+    /**
+     * Creates a new list holding the elements of this list followed by the
+     * elements of another list. This copies this list, the other list is
+     * shared.
+     * 
+     * @param other
+     *            the list to append
+     * @return a new list
+     * @since awaeUtils 2.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> concat(List<? extends T> other) {
+        if (other.isEmpty())
+            return this;
+        if (isEmpty())
+            return (List<T>) other;
+        return new ListBuilder<T>(size).addAll(this).buildOnto(other);
+    }
+
+    /**
+     * Creates a new list with the elements of this list in reverse order
+     * 
+     * @return a new list
+     * @since awaeUtils 2.2.0
+     */
+    public List<T> reverse() {
+        List<T> result = empty();
+        for (T elem : this)
+            result = result.prepend(elem);
+        return result;
+    }
+
+    /**
+     * Creates a new list by applying a function to every element of this list
+     * 
+     * @param mapper
+     *            the function to apply
+     * @return a new list of the same size
+     * @since awaeUtils 2.2.0
+     */
+    public <R> List<R> map(Function<? super T, ? extends R> mapper) {
+        ListBuilder<R> builder = new ListBuilder<>(size);
+        for (T elem : this)
+            builder.add(mapper.apply(elem));
+        return builder.build();
+    }
+
+    /**
+     * Creates a new list holding only the elements of this list that match a
+     * predicate. The longest suffix of matching elements is shared with this
+     * list.
+     * 
+     * @param predicate
+     *            the predicate the elements must match
+     * @return a list of all matching elements
+     * @since awaeUtils 2.2.0
+     */
+    public List<T> filter(Predicate<? super T> predicate) {
+        ListBuilder<T> builder = null;
+        // the part after the last rejected element
+        List<? extends T> suffix = this;
+        int kept = 0;
+        for (List<? extends T> list = this; !list.isEmpty(); list = list.tail) {
+            if (predicate.test(list.head)) {
+                if (builder != null)
+                    builder.add(list.head);
+                continue;
+            }
+            if (builder == null) {
+                // first rejection: copy the prefix accepted so far
+                builder = new ListBuilder<>(size);
+                for (List<? extends T> prefix = this; prefix != list; prefix = prefix.tail)
+                    builder.add(prefix.head);
+            }
+            kept = builder.size();
+            suffix = list.tail;
+        }
+        if (builder == null)
+            return this;
+        return builder.buildOnto(kept, suffix);
+    }
+
+    /**
+     * Combines all elements of this list from left to right
+     * 
+     * @param zero
+     *            the initial value
+     * @param combiner
+     *            combines the value accumulated so far with the next element
+     * @return the accumulated value
+     * @since awaeUtils 2.2.0
+     */
+    public <R> R foldLeft(R zero, BiFunction<? super R, ? super T, ? extends R> combiner) {
+        R result = zero;
+        for (T elem : this)
+            result = combiner.apply(result, elem);
+        return result;
+    }
+
     /**
      * the size of the list
      */
@@ -145,11 +281,30 @@ public class List<T> implements Iterable<T>, Serializable {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((head == null) ? 0 : head.hashCode());
-        result = prime * result + ((tail == null) ? 0 : tail.hashCode());
-        return result;
+        int h = hash;
+        if (h != 0)
+            return h;
+        // collect the nodes up to the first one with a known hash. the hash is
+        // then folded from the back so every suffix caches its own hash.
+        int pending = 0;
+        List<?> list = this;
+        while (list.hash == 0 && !list.isEmpty()) {
+            pending++;
+            list = list.tail;
+        }
+        List<?>[] nodes = new List<?>[pending];
+        list = this;
+        for (int i = 0; i < pending; i++) {
+            nodes[i] = list;
+            list = list.tail;
+        }
+        h = list.isEmpty() ? EMPTY_HASH : list.hash;
+        for (int i = pending - 1; i >= 0; i--) {
+            List<?> node = nodes[i];
+            h = 31 * (31 + Objects.hashCode(node.head)) + h;
+            node.hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -157,26 +312,23 @@ public class List<T> implements Iterable<T>, Serializable {
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
+        if (!(obj instanceof List)) {
             return false;
         }
-        if (!(obj instanceof List)) {
+        List<?> a = this;
+        List<?> b = (List<?>) obj;
+        if (a.size != b.size) {
             return false;
         }
-        List<?> other = (List<?>) obj;
-        if (head == null) {
-            if (other.head != null) {
+        while (a != b && !a.isEmpty()) {
+            if (a.hash != 0 && b.hash != 0 && a.hash != b.hash) {
                 return false;
             }
-        } else if (!head.equals(other.head)) {
-            return false;
-        }
-        if (tail == null) {
-            if (other.tail != null) {
+            if (!Objects.equals(a.head, b.head)) {
                 return false;
             }
-        } else if (!tail.equals(other.tail)) {
-            return false;
+            a = a.tail;
+            b = b.tail;
         }
         return true;
     }
@@ -189,12 +341,10 @@ public class List<T> implements Iterable<T>, Serializable {
      * @return {@code true} iff the element exists
      */
     public boolean contains(Object o) {
-        if (Objects.equals(head, o))
-            return true;
-        else if (isEmpty())
-            return false;
-        else
-            return tail.contains(o);
+        for (List<?> list = this; !list.isEmpty(); list = list.tail)
+            if (Objects.equals(list.head, o))
+                return true;
+        return false;
     }
 
     @Override
@@ -251,6 +401,46 @@ public class List<T> implements Iterable<T>, Serializable {
         };
     }
 
+    /**
+     * Converts this list into a {@link Vector} for efficient random access
+     * 
+     * @return a vector containing the elements of this list
+     * @since awaeUtils 2.2.0
+     */
+    public Vector<T> toVector() {
+        return Vector.from(this);
+    }
+
+    /**
+     * Creates a spliterator over this list. The spliterator knows the exact
+     * size and splits off batches of growing size, so the list can be
+     * processed in parallel.
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ListSpliterator<>(this);
+    }
+
+    /**
+     * Creates a sequential stream over the elements of this list
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Creates a possibly parallel stream over the elements of this list
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public Object[] toArray() {
         Object[] array = new Object[size()];
         int index = 0;
@@ -269,4 +459,98 @@ public class List<T> implements Iterable<T>, Serializable {
         return a;
     }
 
+    private static final class ListSpliterator<T> implements Spliterator<T> {
+
+        private static final int CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED | SUBSIZED;
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private List<? extends T> list;
+        private int batch = 0;
+
+        ListSpliterator(List<? extends T> list) {
+            this.list = list;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (list.isEmpty())
+                return false;
+            T elem = list.head;
+            list = list.tail;
+            action.accept(elem);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            List<? extends T> current = list;
+            list = empty();
+            for (; !current.isEmpty(); current = current.tail)
+                action.accept(current.head);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int remaining = list.size;
+            if (remaining <= 1)
+                return null;
+            // split off a prefix of increasing size, but never the whole list
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+            if (n == remaining)
+                n = remaining / 2;
+            batch = n;
+            Object[] array = new Object[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = list.head;
+                list = list.tail;
+            }
+            return Spliterators.spliterator(array, 0, n, CHARACTERISTICS);
+        }
+
+        @Override
+        public long estimateSize() {
+            return list.size;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+    }
+
+    /**
+     * Lists are serialized as a flat array of their elements instead of a
+     * chain of nested nodes.
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    @Override
+    public Object writeReplace() {
+        return new ListProxy(toArray());
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("lists are deserialized through a proxy");
+    }
+
+    private static final class ListProxy implements SerializationProxy {
+
+        private static final long serialVersionUID = -3592806432512478335L;
+
+        private final Object[] elements;
+
+        ListProxy(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object readResolve() {
+            return link(elements, elements.length, EMPTY_LIST);
+        }
+
+    }
+
 }
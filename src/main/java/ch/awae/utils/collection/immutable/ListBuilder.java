@@ -0,0 +1,115 @@
+package ch.awae.utils.collection.immutable;
+
+import java.util.Arrays;
+
+/**
+ * Mutable builder for immutable {@link List Lists}.
+ * 
+ * Elements are added front-to-back. They are buffered in an array until
+ * {@link #build()} is called, which links up the list in a single pass from
+ * the last element to the first. No intermediate list has to be reversed.
+ * 
+ * The builder can be reused after {@link #build()}, further elements are
+ * appended to the ones added so far.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <T>
+ *            the element type for the list
+ */
+public final class ListBuilder<T> {
+
+    private Object[] buffer;
+    private int size = 0;
+
+    /**
+     * Creates a new builder
+     */
+    public ListBuilder() {
+        this(16);
+    }
+
+    /**
+     * Creates a new builder
+     * 
+     * @param initialCapacity
+     *            the number of elements that can be added before the buffer
+     *            has to grow
+     * @throws IllegalArgumentException
+     *             if the capacity is negative
+     */
+    public ListBuilder(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("negative capacity: " + initialCapacity);
+        this.buffer = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Adds an element to the end of the list
+     * 
+     * @param element
+     *            the element to add
+     * @return the builder itself
+     */
+    public ListBuilder<T> add(T element) {
+        if (this.size == this.buffer.length)
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        this.buffer[this.size++] = element;
+        return this;
+    }
+
+    /**
+     * Adds all elements to the end of the list
+     * 
+     * @param elements
+     *            the elements to add
+     * @return the builder itself
+     */
+    public ListBuilder<T> addAll(Iterable<? extends T> elements) {
+        for (T element : elements)
+            this.add(element);
+        return this;
+    }
+
+    /**
+     * the number of elements added so far
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all elements from the builder
+     */
+    public void clear() {
+        Arrays.fill(this.buffer, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Creates a list of all elements added so far
+     * 
+     * @return the list
+     */
+    public List<T> build() {
+        return this.buildOnto(List.empty());
+    }
+
+    /**
+     * Creates a list of all elements added so far, followed by the elements of
+     * the given list. The given list is shared, not copied.
+     */
+    List<T> buildOnto(List<? extends T> tail) {
+        return this.buildOnto(this.size, tail);
+    }
+
+    /**
+     * Creates a list of the first {@code count} elements, followed by the
+     * elements of the given list.
+     */
+    List<T> buildOnto(int count, List<? extends T> tail) {
+        return List.link(this.buffer, count, tail);
+    }
+
+}
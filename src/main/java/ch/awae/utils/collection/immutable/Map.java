@@ -0,0 +1,632 @@
+package ch.awae.utils.collection.immutable;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import ch.awae.utils.functional.T2;
+
+/**
+ * Immutable Hash Map.
+ *
+ * The map is a hash array mapped trie (HAMT): every level of the trie consumes
+ * 5 bits of the key hash and stores only the occupied slots, indexed by a 32
+ * bit bitmap. Lookups, insertions and removals therefore run in
+ * {@code O(log32 n)} time. Modifications only copy the path to the modified
+ * entry, all other nodes are shared with the original map.
+ *
+ * Larger maps are best built with a {@link MapBuilder}, which modifies the
+ * nodes it has created in place instead of copying them on every insertion.
+ *
+ * {@code null} keys are not permitted, {@code null} values are.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <K>
+ *            the key type
+ * @param <V>
+ *            the value type
+ */
+public final class Map<K, V> implements Iterable<T2<K, V>>, Serializable {
+
+    private static final long serialVersionUID = -6716264386950883235L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final Object NOT_FOUND = new Object();
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private final static Map EMPTY_MAP = new Map(0, null);
+
+    /**
+     * Provides the empty map for any type arguments
+     *
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> empty() {
+        return EMPTY_MAP;
+    }
+
+    /**
+     * Creates a new builder for a map
+     *
+     * @return an empty builder
+     */
+    public static <K, V> MapBuilder<K, V> builder() {
+        return new MapBuilder<>();
+    }
+
+    /**
+     * Creates a new map from a given map
+     *
+     * @param map
+     *            the map to copy
+     * @return a map holding the same mappings
+     */
+    public static <K, V> Map<K, V> from(java.util.Map<? extends K, ? extends V> map) {
+        return Map.<K, V>builder().putAll(map).build();
+    }
+
+    /**
+     * Creates a new map from a list of key-value pairs. If a key occurs
+     * multiple times, the last pair wins.
+     *
+     * @param pairs
+     *            the pairs to add to the map
+     * @return a map holding the pairs
+     */
+    public static <K, V> Map<K, V> from(List<? extends T2<? extends K, ? extends V>> pairs) {
+        return Map.<K, V>builder().putAll(pairs).build();
+    }
+
+    final int size;
+    final Node root;
+    private transient int hash;
+
+    Map(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    /**
+     * Indicates if this is the empty map
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * the number of mappings in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the value for a given key
+     *
+     * @param key
+     *            the key to look up
+     * @return the value, or {@code null} if the key is not present
+     */
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Retrieves the value for a given key
+     *
+     * @param key
+     *            the key to look up
+     * @param defaultValue
+     *            the value to return if the key is not present
+     * @return the value, or the default value if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        if (root == null || key == null)
+            return defaultValue;
+        Object value = root.find(key.hashCode(), 0, key);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    /**
+     * Checks if the map contains a given key
+     *
+     * @param key
+     *            the key to look up
+     * @return {@code true} iff the key is present
+     */
+    public boolean containsKey(Object key) {
+        return root != null && key != null && root.find(key.hashCode(), 0, key) != NOT_FOUND;
+    }
+
+    /**
+     * Creates a new map with an additional mapping. Any previous mapping for
+     * the key is replaced.
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return a new map
+     * @throws NullPointerException
+     *             if the key is {@code null}
+     */
+    public Map<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "no null keys allowed");
+        Box added = new Box();
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).put(null, key.hashCode(), 0, key, value, added);
+        if (newRoot == root)
+            return this;
+        return new Map<>(added.value ? size + 1 : size, newRoot);
+    }
+
+    /**
+     * Creates a new map without the mapping for a given key
+     *
+     * @param key
+     *            the key to remove
+     * @return a new map, or this map if the key is not present
+     */
+    public Map<K, V> remove(Object key) {
+        if (root == null || key == null)
+            return this;
+        Box removed = new Box();
+        Node newRoot = root.remove(null, key.hashCode(), 0, key, removed);
+        if (!removed.value)
+            return this;
+        return newRoot == null ? empty() : new Map<>(size - 1, newRoot);
+    }
+
+    /**
+     * Provides the keys of this map as a set. The set shares the structure of
+     * this map.
+     *
+     * @return the key set
+     */
+    public Set<K> keySet() {
+        return isEmpty() ? Set.empty() : new Set<>(this);
+    }
+
+    /**
+     * Creates a builder holding the mappings of this map
+     *
+     * @return a new builder
+     */
+    public MapBuilder<K, V> toBuilder() {
+        return new MapBuilder<>(size, root);
+    }
+
+    /**
+     * Converts this map into a list of key-value pairs. The order of the pairs
+     * is unspecified.
+     *
+     * @return a list of all mappings
+     */
+    public List<T2<K, V>> toList() {
+        ListBuilder<T2<K, V>> builder = new ListBuilder<>(size);
+        for (T2<K, V> pair : this)
+            builder.add(pair);
+        return builder.build();
+    }
+
+    /**
+     * Performs an action for every mapping in the map
+     *
+     * @param action
+     *            the action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        NodeIterator it = new NodeIterator(root);
+        while (it.hasNext()) {
+            it.advance();
+            action.accept((K) it.key(), (V) it.value());
+        }
+    }
+
+    /**
+     * Iterates over all mappings. The order is unspecified.
+     */
+    @Override
+    public Iterator<T2<K, V>> iterator() {
+        NodeIterator it = new NodeIterator(root);
+        return new Iterator<T2<K, V>>() {
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T2<K, V> next() {
+                it.advance();
+                return new T2<>((K) it.key(), (V) it.value());
+            }
+        };
+    }
+
+    Iterator<K> keyIterator() {
+        NodeIterator it = new NodeIterator(root);
+        return new Iterator<K>() {
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public K next() {
+                it.advance();
+                return (K) it.key();
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && size > 0) {
+            NodeIterator it = new NodeIterator(root);
+            while (it.hasNext()) {
+                it.advance();
+                h += it.key().hashCode() ^ Objects.hashCode(it.value());
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Map))
+            return false;
+        Map<?, ?> other = (Map<?, ?>) obj;
+        if (size != other.size)
+            return false;
+        if (hash != 0 && other.hash != 0 && hash != other.hash)
+            return false;
+        NodeIterator it = new NodeIterator(root);
+        while (it.hasNext()) {
+            it.advance();
+            Object key = it.key();
+            Object value = other.root.find(key.hashCode(), 0, key);
+            if (value == NOT_FOUND || !Objects.equals(value, it.value()))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Map(");
+        boolean first = true;
+        NodeIterator it = new NodeIterator(root);
+        while (it.hasNext()) {
+            it.advance();
+            if (!first)
+                sb.append(',');
+            sb.append(it.key()).append("->").append(it.value());
+            first = false;
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
+    private Object readResolve() {
+        return size == 0 ? EMPTY_MAP : this;
+    }
+
+    // #### TRIE NODES ####
+
+    static final class Box {
+        boolean value;
+    }
+
+    /**
+     * A trie node. The entries are stored in a flat array of pairs. A pair is
+     * either a key and its value or {@code null} and a child node.
+     *
+     * A node may only be modified in place if its edit token is the (non-null)
+     * token of the builder performing the modification.
+     */
+    static abstract class Node implements Serializable {
+
+        private static final long serialVersionUID = 1045716525573436981L;
+
+        transient Object edit;
+        Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        boolean isEditable(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        abstract Object find(int hash, int shift, Object key);
+
+        abstract Node put(Object edit, int hash, int shift, Object key, Object value, Box added);
+
+        /**
+         * @return the new node or {@code null} if the node became empty
+         */
+        abstract Node remove(Object edit, int hash, int shift, Object key, Box removed);
+
+    }
+
+    static final class BitmapNode extends Node {
+
+        private static final long serialVersionUID = -4937436493128829580L;
+
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        int bitmap;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int hash, int shift, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0)
+                return NOT_FOUND;
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null)
+                return ((Node) array[i + 1]).find(hash, shift + BITS, key);
+            return key.equals(k) ? array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object edit, int hash, int shift, Object key, Object value, Box added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[i];
+                Object v = array[i + 1];
+                if (k == null) {
+                    Node child = ((Node) v).put(edit, hash, shift + BITS, key, value, added);
+                    return child == v ? this : set(edit, i + 1, child);
+                }
+                if (key.equals(k))
+                    return v == value ? this : set(edit, i + 1, value);
+                // two different keys share this slot: push both down a level
+                added.value = true;
+                Node child = createNode(edit, shift + BITS, k, v, hash, key, value);
+                BitmapNode node = set(edit, i + 1, child);
+                node.array[i] = null;
+                return node;
+            }
+            added.value = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            System.arraycopy(array, i, newArray, i + 2, array.length - i);
+            if (isEditable(edit)) {
+                this.array = newArray;
+                this.bitmap |= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int hash, int shift, Object key, Box removed) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0)
+                return this;
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                Node child = (Node) array[i + 1];
+                Node newChild = child.remove(edit, hash, shift + BITS, key, removed);
+                if (newChild == child)
+                    return this;
+                if (newChild == null)
+                    return without(edit, bit, i);
+                if (newChild.array.length == 2 && newChild.array[0] != null) {
+                    // the child holds a single mapping: inline it
+                    BitmapNode node = set(edit, i + 1, newChild.array[1]);
+                    node.array[i] = newChild.array[0];
+                    return node;
+                }
+                return set(edit, i + 1, newChild);
+            }
+            if (!key.equals(k))
+                return this;
+            removed.value = true;
+            return without(edit, bit, i);
+        }
+
+        private BitmapNode set(Object edit, int i, Object value) {
+            BitmapNode node = isEditable(edit) ? this : new BitmapNode(edit, bitmap, array.clone());
+            node.array[i] = value;
+            return node;
+        }
+
+        private BitmapNode without(Object edit, int bit, int i) {
+            if (bitmap == bit)
+                return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+            if (isEditable(edit)) {
+                this.array = newArray;
+                this.bitmap ^= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, newArray);
+        }
+
+        private static Node createNode(Object edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = k1.hashCode();
+            if (h1 == h2)
+                return new CollisionNode(edit, h1, new Object[] { k1, v1, k2, v2 });
+            Box box = new Box();
+            return new BitmapNode(edit, 0, new Object[0]).put(edit, h1, shift, k1, v1, box).put(edit, h2, shift, k2,
+                    v2, box);
+        }
+
+    }
+
+    /**
+     * holds all keys that share the same full hash code
+     */
+    static final class CollisionNode extends Node {
+
+        private static final long serialVersionUID = 2792476785155618318L;
+
+        final int hash;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2)
+                if (key.equals(array[i]))
+                    return i;
+            return -1;
+        }
+
+        @Override
+        Object find(int hash, int shift, Object key) {
+            if (hash != this.hash)
+                return NOT_FOUND;
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node put(Object edit, int hash, int shift, Object key, Object value, Box added) {
+            if (hash != this.hash) {
+                // nest this node into a bitmap node, then add the new key there
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(edit, bit, new Object[] { null, this }).put(edit, hash, shift, key, value,
+                        added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value)
+                    return this;
+                CollisionNode node = isEditable(edit) ? this : new CollisionNode(edit, hash, array.clone());
+                node.array[i + 1] = value;
+                return node;
+            }
+            added.value = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            if (isEditable(edit)) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int hash, int shift, Object key, Box removed) {
+            if (hash != this.hash)
+                return this;
+            int i = indexOf(key);
+            if (i < 0)
+                return this;
+            removed.value = true;
+            if (array.length == 2)
+                return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+            if (isEditable(edit)) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+    }
+
+    /**
+     * depth-first iteration over the mappings of a trie
+     */
+    static final class NodeIterator {
+
+        // 7 bitmap levels for 32 bit hashes plus one collision level
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Object key;
+        private Object value;
+        private boolean ready = false;
+
+        NodeIterator(Node root) {
+            if (root != null) {
+                depth = 0;
+                arrays[0] = root.array;
+            }
+        }
+
+        boolean hasNext() {
+            if (ready)
+                return true;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    depth++;
+                    arrays[depth] = ((Node) array[position + 1]).array;
+                    positions[depth] = 0;
+                } else {
+                    key = array[position];
+                    value = array[position + 1];
+                    ready = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void advance() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            ready = false;
+        }
+
+        Object key() {
+            return key;
+        }
+
+        Object value() {
+            return value;
+        }
+
+    }
+
+}
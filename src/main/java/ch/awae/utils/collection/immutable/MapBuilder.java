@@ -0,0 +1,131 @@
+package ch.awae.utils.collection.immutable;
+
+import java.util.Objects;
+
+import ch.awae.utils.collection.immutable.Map.BitmapNode;
+import ch.awae.utils.collection.immutable.Map.Box;
+import ch.awae.utils.collection.immutable.Map.Node;
+import ch.awae.utils.functional.T2;
+
+/**
+ * Mutable builder for immutable {@link Map Maps}.
+ * 
+ * The builder modifies the trie nodes it has created itself in place. Nodes
+ * shared with a map are copied on first modification, so any map built before
+ * remains unaffected. This makes bulk construction considerably cheaper than
+ * repeated calls to {@link Map#put(Object, Object)}.
+ * 
+ * The builder can be reused after {@link #build()}.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <K>
+ *            the key type
+ * @param <V>
+ *            the value type
+ */
+public final class MapBuilder<K, V> {
+
+    // identifies the nodes owned by this builder
+    private Object edit = new Object();
+    private Node root;
+    private int size;
+
+    /**
+     * Creates a new empty builder
+     */
+    public MapBuilder() {
+        this(0, null);
+    }
+
+    MapBuilder(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    /**
+     * Adds a mapping. Any previous mapping for the key is replaced.
+     * 
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return the builder itself
+     * @throws NullPointerException
+     *             if the key is {@code null}
+     */
+    public MapBuilder<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "no null keys allowed");
+        Box added = new Box();
+        this.root = (this.root == null ? BitmapNode.EMPTY : this.root).put(this.edit, key.hashCode(), 0, key, value,
+                added);
+        if (added.value)
+            this.size++;
+        return this;
+    }
+
+    /**
+     * Adds all mappings of a map
+     * 
+     * @param map
+     *            the mappings to add
+     * @return the builder itself
+     */
+    public MapBuilder<K, V> putAll(java.util.Map<? extends K, ? extends V> map) {
+        for (java.util.Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+            this.put(entry.getKey(), entry.getValue());
+        return this;
+    }
+
+    /**
+     * Adds all key-value pairs
+     * 
+     * @param pairs
+     *            the pairs to add
+     * @return the builder itself
+     */
+    public MapBuilder<K, V> putAll(Iterable<? extends T2<? extends K, ? extends V>> pairs) {
+        for (T2<? extends K, ? extends V> pair : pairs)
+            this.put(pair._1, pair._2);
+        return this;
+    }
+
+    /**
+     * Removes the mapping for a key
+     * 
+     * @param key
+     *            the key to remove
+     * @return the builder itself
+     */
+    public MapBuilder<K, V> remove(Object key) {
+        if (this.root == null || key == null)
+            return this;
+        Box removed = new Box();
+        this.root = this.root.remove(this.edit, key.hashCode(), 0, key, removed);
+        if (removed.value)
+            this.size--;
+        return this;
+    }
+
+    /**
+     * the number of mappings added so far
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Creates a map of all mappings added so far
+     * 
+     * @return the map
+     */
+    public Map<K, V> build() {
+        if (this.size == 0)
+            return Map.empty();
+        // the built map now shares the nodes: stop modifying them
+        this.edit = new Object();
+        return new Map<>(this.size, this.root);
+    }
+
+}
@@ -0,0 +1,217 @@
+package ch.awae.utils.collection.immutable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Immutable Hash Set.
+ *
+ * The set is backed by a {@link Map} and therefore shares its structure and
+ * complexity: lookups, insertions and removals run in {@code O(log32 n)} time.
+ * Larger sets are best built with a {@link SetBuilder}.
+ *
+ * {@code null} elements are not permitted.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <T>
+ *            the element type for the set
+ */
+public final class Set<T> implements Iterable<T>, Serializable {
+
+    private static final long serialVersionUID = 3179447826932700426L;
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private final static Set EMPTY_SET = new Set(Map.empty());
+
+    /**
+     * Provides the empty set for any type argument
+     *
+     * @return the empty set
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> empty() {
+        return EMPTY_SET;
+    }
+
+    /**
+     * Creates a new builder for a set
+     *
+     * @return an empty builder
+     */
+    public static <T> SetBuilder<T> builder() {
+        return new SetBuilder<>();
+    }
+
+    /**
+     * Creates a new set from an array of elements
+     *
+     * @param ts
+     *            the elements to create a set for
+     * @return the set containing the elements
+     */
+    @SafeVarargs
+    public static <T> Set<T> of(T... ts) {
+        SetBuilder<T> builder = builder();
+        for (T t : ts)
+            builder.add(t);
+        return builder.build();
+    }
+
+    /**
+     * Creates a new set from a given collection
+     *
+     * @param collection
+     *            the collection to convert to a set
+     * @return a set containing the elements of the collection
+     */
+    public static <T> Set<T> from(Collection<? extends T> collection) {
+        return Set.<T>builder().addAll(collection).build();
+    }
+
+    /**
+     * Creates a new set from a given list
+     *
+     * @param list
+     *            the list to convert to a set
+     * @return a set containing the elements of the list
+     */
+    public static <T> Set<T> from(List<? extends T> list) {
+        return Set.<T>builder().addAll(list).build();
+    }
+
+    // only the keys are relevant, the values are ignored
+    private final Map<T, ?> map;
+
+    Set(Map<T, ?> map) {
+        this.map = map;
+    }
+
+    /**
+     * Indicates if this is the empty set
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * the size of the set
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Checks if this set contains a given element
+     *
+     * @param o
+     *            the element to search
+     * @return {@code true} iff the element exists
+     */
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    /**
+     * Creates a new set with an additional element
+     *
+     * @param element
+     *            the element to add
+     * @return a new set, or this set if the element is already present
+     * @throws NullPointerException
+     *             if the element is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public Set<T> add(T element) {
+        if (map.containsKey(element))
+            return this;
+        return new Set<>(((Map<T, Object>) map).put(element, Boolean.TRUE));
+    }
+
+    /**
+     * Creates a new set without a given element
+     *
+     * @param element
+     *            the element to remove
+     * @return a new set, or this set if the element is not present
+     */
+    public Set<T> remove(Object element) {
+        Map<T, ?> newMap = map.remove(element);
+        if (newMap == map)
+            return this;
+        return newMap.isEmpty() ? empty() : new Set<>(newMap);
+    }
+
+    /**
+     * Creates a builder holding the elements of this set
+     *
+     * @return a new builder
+     */
+    public SetBuilder<T> toBuilder() {
+        return new SetBuilder<>(new MapBuilder<>(map.size, map.root));
+    }
+
+    /**
+     * Converts this set into a list. The order of the elements is unspecified.
+     *
+     * @return a list of all elements
+     */
+    public List<T> toList() {
+        ListBuilder<T> builder = new ListBuilder<>(size());
+        for (T elem : this)
+            builder.add(elem);
+        return builder.build();
+    }
+
+    /**
+     * Iterates over all elements. The order is unspecified.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return map.keyIterator();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (T elem : this)
+            h += elem.hashCode();
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Set))
+            return false;
+        Set<?> other = (Set<?>) obj;
+        if (size() != other.size())
+            return false;
+        for (T elem : this)
+            if (!other.contains(elem))
+                return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Set(");
+        boolean first = true;
+        for (T elem : this) {
+            if (!first)
+                sb.append(',');
+            sb.append(elem);
+            first = false;
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
+    private Object readResolve() {
+        return isEmpty() ? EMPTY_SET : this;
+    }
+
+}
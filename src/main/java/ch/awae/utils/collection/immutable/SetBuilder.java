@@ -0,0 +1,86 @@
+package ch.awae.utils.collection.immutable;
+
+/**
+ * Mutable builder for immutable {@link Set Sets}.
+ * 
+ * Like the {@link MapBuilder} it is based on, the builder modifies the nodes
+ * it has created in place and can be reused after {@link #build()}.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <T>
+ *            the element type for the set
+ */
+public final class SetBuilder<T> {
+
+    private final MapBuilder<T, Object> map;
+
+    /**
+     * Creates a new empty builder
+     */
+    public SetBuilder() {
+        this(new MapBuilder<>());
+    }
+
+    SetBuilder(MapBuilder<T, Object> map) {
+        this.map = map;
+    }
+
+    /**
+     * Adds an element
+     * 
+     * @param element
+     *            the element to add
+     * @return the builder itself
+     * @throws NullPointerException
+     *             if the element is {@code null}
+     */
+    public SetBuilder<T> add(T element) {
+        this.map.put(element, Boolean.TRUE);
+        return this;
+    }
+
+    /**
+     * Adds all elements
+     * 
+     * @param elements
+     *            the elements to add
+     * @return the builder itself
+     */
+    public SetBuilder<T> addAll(Iterable<? extends T> elements) {
+        for (T element : elements)
+            this.add(element);
+        return this;
+    }
+
+    /**
+     * Removes an element
+     * 
+     * @param element
+     *            the element to remove
+     * @return the builder itself
+     */
+    public SetBuilder<T> remove(Object element) {
+        this.map.remove(element);
+        return this;
+    }
+
+    /**
+     * the number of elements added so far
+     */
+    public int size() {
+        return this.map.size();
+    }
+
+    /**
+     * Creates a set of all elements added so far
+     * 
+     * @return the set
+     */
+    public Set<T> build() {
+        Map<T, Object> built = this.map.build();
+        return built.isEmpty() ? Set.empty() : new Set<>(built);
+    }
+
+}
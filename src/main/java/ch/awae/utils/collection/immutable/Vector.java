@@ -0,0 +1,351 @@
+package ch.awae.utils.collection.immutable;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Immutable indexed Vector.
+ *
+ * The vector is a persistent 32-way trie with a separate tail array. Random
+ * access and updates run in {@code O(log32 n)} time, i.e. in at most 7 steps
+ * for any vector size. Appending is amortised constant time. Modifications
+ * only copy the path to the modified element, all other nodes are shared with
+ * the original vector.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <T>
+ *            the element type for the vector
+ */
+public final class Vector<T> implements Iterable<T>, Serializable {
+
+    private static final long serialVersionUID = -2466735542466343826L;
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final class Node implements Serializable {
+
+        private static final long serialVersionUID = 6393862462232218371L;
+
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+    }
+
+    private static final Node EMPTY_NODE = new Node(new Object[WIDTH]);
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private final static Vector EMPTY_VECTOR = new Vector(0, BITS, EMPTY_NODE, EMPTY_ARRAY);
+
+    /**
+     * Provides the empty vector for any type argument
+     *
+     * @return the empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Vector<T> empty() {
+        return EMPTY_VECTOR;
+    }
+
+    /**
+     * Creates a new vector from an array of elements
+     *
+     * @param ts
+     *            the elements to create a vector for
+     * @return the vector containing the elements
+     */
+    @SafeVarargs
+    public static <T> Vector<T> of(T... ts) {
+        Vector<T> vector = empty();
+        for (T t : ts)
+            vector = vector.append(t);
+        return vector;
+    }
+
+    /**
+     * Creates a new vector from a given collection
+     *
+     * @param collection
+     *            the collection to convert to a vector
+     * @return a vector containing the elements of the collection
+     */
+    public static <T> Vector<T> from(Collection<? extends T> collection) {
+        return from((Iterable<? extends T>) collection);
+    }
+
+    /**
+     * Creates a new vector from a given list
+     *
+     * @param list
+     *            the list to convert to a vector
+     * @return a vector containing the elements of the list
+     */
+    public static <T> Vector<T> from(List<? extends T> list) {
+        return from((Iterable<? extends T>) list);
+    }
+
+    private static <T> Vector<T> from(Iterable<? extends T> elements) {
+        Vector<T> vector = empty();
+        for (T t : elements)
+            vector = vector.append(t);
+        return vector;
+    }
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private Vector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Indicates if this is the empty vector
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * the size of the vector
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the element at a given index
+     *
+     * @return the element
+     * @throws IndexOutOfBoundsException
+     *             the index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Creates a new vector with the element at the given index replaced
+     *
+     * @param index
+     *            the index of the element to replace
+     * @param element
+     *            the new element
+     * @return a new vector
+     * @throws IndexOutOfBoundsException
+     *             the index is out of bounds
+     */
+    public Vector<T> update(int index, T element) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new Vector<>(size, shift, root, newTail);
+        }
+        return new Vector<>(size, shift, update(shift, root, index, element), tail);
+    }
+
+    /**
+     * Creates a new vector with the provided element appended to the end of
+     * this vector
+     *
+     * @param element
+     *            the element to append
+     * @return a new vector
+     */
+    public Vector<T> append(T element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new Vector<>(size + 1, shift, root, newTail);
+        }
+        // the tail is full: push it into the trie
+        Node tailNode = new Node(tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // the trie is full: add a level
+            Object[] array = new Object[WIDTH];
+            array[0] = root;
+            array[1] = newPath(shift, tailNode);
+            newRoot = new Node(array);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new Vector<>(size + 1, newShift, newRoot, new Object[] { element });
+    }
+
+    /**
+     * Converts this vector into a list
+     *
+     * @return a list containing the elements of this vector
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        List<T> list = List.empty();
+        for (int i = size - 1; i >= 0; i--)
+            list = list.prepend((T) leafFor(i)[i & MASK]);
+        return list;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            int index = 0;
+            Object[] leaf = size > 0 ? leafFor(0) : EMPTY_ARRAY;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (index >= size)
+                    throw new NoSuchElementException();
+                if (index > 0 && (index & MASK) == 0)
+                    leaf = leafFor(index);
+                return (T) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int index = 0;
+        for (Object elem : this)
+            array[index++] = elem;
+        return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <Type> Type[] toArray(Type[] a) {
+        if (a.length < size)
+            a = (Type[]) Array.newInstance(a.getClass().getComponentType(), size);
+        int index = 0;
+        for (T elem : this)
+            a[index++] = (Type) elem;
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (T elem : this)
+            result = 31 * result + Objects.hashCode(elem);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Vector))
+            return false;
+        Vector<?> other = (Vector<?>) obj;
+        if (size != other.size)
+            return false;
+        Iterator<?> it = other.iterator();
+        for (T elem : this)
+            if (!Objects.equals(elem, it.next()))
+                return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Vector(");
+        boolean first = true;
+        for (T elem : this) {
+            if (!first)
+                sb.append(',');
+            sb.append(elem);
+            first = false;
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
+    // #### TRIE OPERATIONS ####
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index out of bounds: " + index);
+    }
+
+    /**
+     * the index of the first element in the tail
+     */
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset())
+            return tail;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS)
+            node = (Node) node.array[(index >>> level) & MASK];
+        return node.array;
+    }
+
+    private static Node update(int level, Node node, int index, Object element) {
+        Object[] array = node.array.clone();
+        if (level == 0)
+            array[index & MASK] = element;
+        else {
+            int child = (index >>> level) & MASK;
+            array[child] = update(level - BITS, (Node) node.array[child], index, element);
+        }
+        return new Node(array);
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] array = parent.array.clone();
+        if (level == BITS)
+            array[child] = tailNode;
+        else {
+            Node existing = (Node) parent.array[child];
+            array[child] = existing != null ? pushTail(level - BITS, existing, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        return new Node(array);
+    }
+
+    private static Node newPath(int level, Node node) {
+        while (level > 0) {
+            Object[] array = new Object[WIDTH];
+            array[0] = node;
+            node = new Node(array);
+            level -= BITS;
+        }
+        return node;
+    }
+
+    private Object readResolve() {
+        return size == 0 ? EMPTY_VECTOR : this;
+    }
+
+}
@@ -0,0 +1,298 @@
+package ch.awae.utils.collection.mutable;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.Predicate;
+
+/**
+ * This is a basic array-backed queue implementation without any real
+ * synchronisation.
+ *
+ * The elements are stored in a growable ring buffer, so adding and polling
+ * elements does not allocate once the buffer has reached its working size, and
+ * iteration walks a contiguous array instead of chasing node pointers. Unlike
+ * {@link LinkedQueue} it supports removing arbitrary elements. Like
+ * {@link LinkedQueue}, {@link #remove()} and {@link #element()} throw an
+ * {@link IllegalStateException} if the queue is empty.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <E>
+ *            the element type for this queue
+ */
+public final class ArrayQueue<E> implements Queue<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] buffer;
+    private int head = 0;
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * creates a new queue with a default initial capacity
+     */
+    public ArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * creates a new queue
+     *
+     * @param initialCapacity
+     *            the number of elements the queue can hold before it has to
+     *            grow
+     * @throws IllegalArgumentException
+     *             if the initial capacity is negative
+     */
+    public ArrayQueue(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("negative capacity: " + initialCapacity);
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) * 2 - 1);
+        this.buffer = new Object[capacity];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.indexOf(o) >= 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            int cursor = 0;
+            int expectedModCount = ArrayQueue.this.modCount;
+            boolean canRemove = false;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < ArrayQueue.this.size;
+            }
+
+            @Override
+            public E next() {
+                if (this.expectedModCount != ArrayQueue.this.modCount)
+                    throw new ConcurrentModificationException();
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                this.canRemove = true;
+                return ArrayQueue.this.get(this.cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (!this.canRemove)
+                    throw new IllegalStateException();
+                if (this.expectedModCount != ArrayQueue.this.modCount)
+                    throw new ConcurrentModificationException();
+                ArrayQueue.this.removeAt(--this.cursor);
+                this.expectedModCount = ArrayQueue.this.modCount;
+                this.canRemove = false;
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[this.size];
+        this.copyInto(array);
+        return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        T[] array = a.length >= this.size ? a
+                : (T[]) Array.newInstance(a.getClass().getComponentType(), this.size);
+        this.copyInto(array);
+        if (array.length > this.size)
+            array[this.size] = null;
+        return array;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = this.indexOf(o);
+        if (index < 0)
+            return false;
+        this.removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object object : c) {
+            if (!this.contains(object))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        for (E e : c) {
+            this.add(e);
+        }
+        return !c.isEmpty();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return this.removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return this.removeIf(e -> !c.contains(e));
+    }
+
+    /**
+     * removes all matching elements in a single pass over the buffer.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            E element = this.get(i);
+            if (!filter.test(element))
+                this.buffer[this.slot(kept++)] = element;
+        }
+        if (kept == this.size)
+            return false;
+        for (int i = kept; i < this.size; i++)
+            this.buffer[this.slot(i)] = null;
+        this.size = kept;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.size; i++)
+            this.buffer[this.slot(i)] = null;
+        this.head = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (this.size == this.buffer.length)
+            this.grow();
+        this.buffer[this.slot(this.size++)] = e;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return this.add(e);
+    }
+
+    @Override
+    public E remove() {
+        if (this.size == 0)
+            throw new IllegalStateException("Queue is empty");
+        return this.poll();
+    }
+
+    @Override
+    public E poll() {
+        if (this.size == 0)
+            return null;
+        E result = this.get(0);
+        this.buffer[this.head] = null;
+        this.head = this.slot(1);
+        this.size--;
+        this.modCount++;
+        return result;
+    }
+
+    @Override
+    public E element() {
+        if (this.size == 0)
+            throw new IllegalStateException("Queue is empty");
+        return this.peek();
+    }
+
+    @Override
+    public E peek() {
+        return this.size > 0 ? this.get(0) : null;
+    }
+
+    // #### BUFFER OPERATIONS ####
+
+    private int slot(int index) {
+        return (this.head + index) & (this.buffer.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(int index) {
+        return (E) this.buffer[this.slot(index)];
+    }
+
+    private int indexOf(Object o) {
+        for (int i = 0; i < this.size; i++)
+            if (Objects.equals(this.buffer[this.slot(i)], o))
+                return i;
+        return -1;
+    }
+
+    private void copyInto(Object[] array) {
+        int first = Math.min(this.size, this.buffer.length - this.head);
+        System.arraycopy(this.buffer, this.head, array, 0, first);
+        System.arraycopy(this.buffer, 0, array, first, this.size - first);
+    }
+
+    private void grow() {
+        Object[] grown = new Object[2 * this.buffer.length];
+        this.copyInto(grown);
+        this.buffer = grown;
+        this.head = 0;
+    }
+
+    /**
+     * removes the element at the given logical index by shifting the shorter
+     * side of the queue over the gap.
+     */
+    private void removeAt(int index) {
+        if (index < this.size / 2) {
+            for (int i = index; i > 0; i--)
+                this.buffer[this.slot(i)] = this.buffer[this.slot(i - 1)];
+            this.buffer[this.head] = null;
+            this.head = this.slot(1);
+        } else {
+            for (int i = index; i < this.size - 1; i++)
+                this.buffer[this.slot(i)] = this.buffer[this.slot(i + 1)];
+            this.buffer[this.slot(this.size - 1)] = null;
+        }
+        this.size--;
+        this.modCount++;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+
+}
@@ -0,0 +1,369 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Array-backed binary min-heap over {@code double} keys.
+ *
+ * The heap is stored as parallel arrays of elements and keys, so no wrapper
+ * object is allocated per entry. If the heap is indexed, an open-addressing
+ * hash table maps every element to its heap slot. That table is also stored in
+ * flat arrays and is kept in sync while entries move through the heap. After
+ * the arrays have grown to their working size, inserting and removing entries
+ * does not allocate at all.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+final class BinaryHeap extends Heap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] elements = new Object[DEFAULT_CAPACITY];
+    private double[] keys = new double[DEFAULT_CAPACITY];
+    private int size = 0;
+
+    // index (only used if indexed)
+    private int[] bucketOf;
+    private Object[] table;
+    private int[] tableSlot;
+    private int mask;
+
+    BinaryHeap(boolean indexed) {
+        super(indexed);
+        if (indexed) {
+            this.bucketOf = new int[DEFAULT_CAPACITY];
+            this.table = new Object[2 * DEFAULT_CAPACITY];
+            this.tableSlot = new int[2 * DEFAULT_CAPACITY];
+            this.mask = 2 * DEFAULT_CAPACITY - 1;
+        }
+    }
+
+    @Override
+    int size() {
+        return this.size;
+    }
+
+    Object elementAt(int slot) {
+        return this.elements[slot];
+    }
+
+    double keyAt(int slot) {
+        return this.keys[slot];
+    }
+
+    /**
+     * finds the heap slot of an element.
+     *
+     * @return the slot or {@code -1} if the element is not present
+     */
+    int find(Object element) {
+        if (this.indexed) {
+            Object key = element == null ? NULL_KEY : element;
+            for (int b = hash(key) & this.mask; this.table[b] != null; b = (b + 1) & this.mask)
+                if (this.table[b].equals(key))
+                    return this.tableSlot[b];
+            return -1;
+        }
+        for (int i = 0; i < this.size; i++)
+            if (Objects.equals(this.elements[i], element))
+                return i;
+        return -1;
+    }
+
+    @Override
+    void insert(Object element, double key) {
+        if (this.size == this.elements.length)
+            this.grow();
+        int bucket = 0;
+        if (this.indexed) {
+            if (2 * (this.size + 1) > this.table.length)
+                this.rehash(2 * this.table.length);
+            bucket = this.link(element, this.size);
+        }
+        this.siftUp(this.size++, element, key, bucket);
+    }
+
+    /**
+     * If the batch is at least as large as the heap, the entries are appended
+     * without ordering and the whole heap is rebuilt bottom-up (Floyd's
+     * method) in linear time. Smaller batches are inserted one by one.
+     */
+    @Override
+    void insertAll(Object[] elements, double[] keys, int count) {
+        if (count < this.size) {
+            super.insertAll(elements, keys, count);
+            return;
+        }
+        while (this.size + count > this.elements.length)
+            this.grow();
+        if (this.indexed && 2 * (this.size + count) > this.table.length)
+            this.rehash(Integer.highestOneBit(4 * (this.size + count) - 1));
+        for (int i = 0; i < count; i++) {
+            Object element = elements[i];
+            int slot = this.indexed ? this.find(element) : -1;
+            if (slot < 0) {
+                slot = this.size++;
+                this.elements[slot] = element;
+                if (this.indexed)
+                    this.bucketOf[slot] = this.link(element, slot);
+            }
+            this.keys[slot] = keys[i];
+        }
+        this.heapify();
+    }
+
+    void update(int slot, double key) {
+        double old = this.keys[slot];
+        int bucket = this.indexed ? this.bucketOf[slot] : 0;
+        if (key < old)
+            this.siftUp(slot, this.elements[slot], key, bucket);
+        else
+            this.siftDown(slot, this.elements[slot], key, bucket);
+    }
+
+    Object removeAt(int slot) {
+        Object removed = this.elements[slot];
+        if (this.indexed)
+            this.unlink(this.bucketOf[slot]);
+        int last = --this.size;
+        Object element = this.elements[last];
+        double key = this.keys[last];
+        int bucket = this.indexed ? this.bucketOf[last] : 0;
+        this.elements[last] = null;
+        if (slot != last) {
+            if (this.siftDown(slot, element, key, bucket) == slot)
+                this.siftUp(slot, element, key, bucket);
+        }
+        return removed;
+    }
+
+    @Override
+    Object peek() {
+        return this.elements[0];
+    }
+
+    @Override
+    double peekKey() {
+        return this.keys[0];
+    }
+
+    @Override
+    Object poll() {
+        return this.removeAt(0);
+    }
+
+    @Override
+    boolean contains(Object element) {
+        return this.find(element) >= 0;
+    }
+
+    @Override
+    boolean remove(Object element) {
+        int slot = this.find(element);
+        if (slot < 0)
+            return false;
+        this.removeAt(slot);
+        return true;
+    }
+
+    @Override
+    boolean update(Object element, double key) {
+        int slot = this.find(element);
+        if (slot < 0)
+            return false;
+        this.update(slot, key);
+        return true;
+    }
+
+    /**
+     * compacts the retained entries in a single pass and rebuilds the heap
+     * bottom-up.
+     */
+    @Override
+    boolean removeIf(Predicate<Object> filter) {
+        int kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (filter.test(this.elements[i])) {
+                if (this.indexed)
+                    this.unlink(this.bucketOf[i]);
+            } else {
+                if (kept != i)
+                    this.move(i, kept);
+                kept++;
+            }
+        }
+        if (kept == this.size)
+            return false;
+        Arrays.fill(this.elements, kept, this.size, null);
+        this.size = kept;
+        this.heapify();
+        return true;
+    }
+
+    @Override
+    Iterator<Object> iterator() {
+        return new Iterator<Object>() {
+
+            int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < BinaryHeap.this.size;
+            }
+
+            @Override
+            public Object next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                return BinaryHeap.this.elements[this.cursor++];
+            }
+        };
+    }
+
+    /**
+     * walks the heap through a secondary heap of slots. a slot is added to the
+     * secondary heap once its parent has been returned, so returning the first
+     * {@code k} elements takes {@code O(k log k)} time.
+     */
+    @Override
+    Iterator<Object> sortedIterator() {
+        SlotHeap frontier = new SlotHeap(this.keys, 16);
+        if (this.size > 0)
+            frontier.push(0);
+        return new Iterator<Object>() {
+
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                if (frontier.isEmpty())
+                    throw new NoSuchElementException();
+                int slot = frontier.pop();
+                int child = 2 * slot + 1;
+                if (child < BinaryHeap.this.size)
+                    frontier.push(child);
+                if (child + 1 < BinaryHeap.this.size)
+                    frontier.push(child + 1);
+                return BinaryHeap.this.elements[slot];
+            }
+        };
+    }
+
+    @Override
+    void clear() {
+        Arrays.fill(this.elements, 0, this.size, null);
+        this.size = 0;
+        if (this.indexed)
+            Arrays.fill(this.table, null);
+    }
+
+    // #### HEAP MAINTENANCE ####
+
+    private void grow() {
+        int capacity = 2 * this.elements.length;
+        this.elements = Arrays.copyOf(this.elements, capacity);
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        if (this.indexed)
+            this.bucketOf = Arrays.copyOf(this.bucketOf, capacity);
+    }
+
+    /**
+     * restores the heap property for all entries (Floyd's method)
+     */
+    private void heapify() {
+        for (int slot = (this.size >>> 1) - 1; slot >= 0; slot--)
+            this.siftDown(slot, this.elements[slot], this.keys[slot], this.indexed ? this.bucketOf[slot] : 0);
+    }
+
+    private void place(int slot, Object element, double key, int bucket) {
+        this.elements[slot] = element;
+        this.keys[slot] = key;
+        if (this.indexed) {
+            this.bucketOf[slot] = bucket;
+            this.tableSlot[bucket] = slot;
+        }
+    }
+
+    private void move(int from, int to) {
+        this.place(to, this.elements[from], this.keys[from], this.indexed ? this.bucketOf[from] : 0);
+    }
+
+    private void siftUp(int slot, Object element, double key, int bucket) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!(key < this.keys[parent]))
+                break;
+            this.move(parent, slot);
+            slot = parent;
+        }
+        this.place(slot, element, key, bucket);
+    }
+
+    /**
+     * @return the slot the element has been placed in
+     */
+    private int siftDown(int slot, Object element, double key, int bucket) {
+        int half = this.size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < this.size && this.keys[right] < this.keys[child])
+                child = right;
+            if (!(this.keys[child] < key))
+                break;
+            this.move(child, slot);
+            slot = child;
+        }
+        this.place(slot, element, key, bucket);
+        return slot;
+    }
+
+    // #### INDEX MAINTENANCE ####
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int link(Object element, int slot) {
+        Object key = element == null ? NULL_KEY : element;
+        int b = hash(key) & this.mask;
+        while (this.table[b] != null)
+            b = (b + 1) & this.mask;
+        this.table[b] = key;
+        this.tableSlot[b] = slot;
+        return b;
+    }
+
+    private void unlink(int bucket) {
+        int hole = bucket;
+        for (int b = (hole + 1) & this.mask; this.table[b] != null; b = (b + 1) & this.mask) {
+            int ideal = hash(this.table[b]) & this.mask;
+            if (((b - ideal) & this.mask) >= ((b - hole) & this.mask)) {
+                this.table[hole] = this.table[b];
+                this.tableSlot[hole] = this.tableSlot[b];
+                this.bucketOf[this.tableSlot[hole]] = hole;
+                hole = b;
+            }
+        }
+        this.table[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        this.table = new Object[capacity];
+        this.tableSlot = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < this.size; i++)
+            this.bucketOf[i] = this.link(this.elements[i], i);
+    }
+
+}
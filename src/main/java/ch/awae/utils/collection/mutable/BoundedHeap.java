@@ -0,0 +1,292 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Capacity-bounded heap over {@code double} keys.
+ *
+ * Every entry is held in a min-heap and in a max-heap at the same time, so
+ * both the lowest and the highest key are accessible in constant time and can
+ * be removed in logarithmic time. When an entry is added to a full heap, the
+ * entry with the highest key (which may be the new entry itself) is evicted
+ * and reported to an eviction listener. All storage is allocated up front, so
+ * the heap never allocates after construction.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+final class BoundedHeap extends Heap {
+
+    /**
+     * one of the two heaps. both are min-heaps over entry ids, the max-heap
+     * simply holds negated keys.
+     */
+    private static final class Side {
+
+        final int[] ids;
+        final double[] keys;
+        final int[] positions;
+        int size = 0;
+
+        Side(int capacity) {
+            this.ids = new int[capacity];
+            this.keys = new double[capacity];
+            this.positions = new int[capacity];
+        }
+
+        void insert(int id, double key) {
+            this.siftUp(this.size++, id, key);
+        }
+
+        void remove(int id) {
+            int position = this.positions[id];
+            int last = --this.size;
+            if (position != last) {
+                int lastId = this.ids[last];
+                double lastKey = this.keys[last];
+                this.siftDown(position, lastId, lastKey);
+                if (this.ids[position] == lastId)
+                    this.siftUp(position, lastId, lastKey);
+            }
+        }
+
+        void update(int id, double key) {
+            int position = this.positions[id];
+            if (key < this.keys[position])
+                this.siftUp(position, id, key);
+            else
+                this.siftDown(position, id, key);
+        }
+
+        /**
+         * renames an entry id without moving it in the heap.
+         */
+        void rename(int from, int to) {
+            int position = this.positions[from];
+            this.ids[position] = to;
+            this.positions[to] = position;
+        }
+
+        private void place(int position, int id, double key) {
+            this.ids[position] = id;
+            this.keys[position] = key;
+            this.positions[id] = position;
+        }
+
+        private void siftUp(int position, int id, double key) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!(key < this.keys[parent]))
+                    break;
+                this.place(position, this.ids[parent], this.keys[parent]);
+                position = parent;
+            }
+            this.place(position, id, key);
+        }
+
+        private void siftDown(int position, int id, double key) {
+            int half = this.size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                int right = child + 1;
+                if (right < this.size && this.keys[right] < this.keys[child])
+                    child = right;
+                if (!(this.keys[child] < key))
+                    break;
+                this.place(position, this.ids[child], this.keys[child]);
+                position = child;
+            }
+            this.place(position, id, key);
+        }
+
+    }
+
+    private final Object[] elements;
+    private final double[] keys;
+    private final Side min;
+    private final Side max;
+    private final ObjDoubleConsumer<Object> evictionListener;
+    private int size = 0;
+
+    BoundedHeap(int capacity, ObjDoubleConsumer<Object> evictionListener) {
+        super(false);
+        this.elements = new Object[capacity];
+        this.keys = new double[capacity];
+        this.min = new Side(capacity);
+        this.max = new Side(capacity);
+        this.evictionListener = evictionListener;
+    }
+
+    int capacity() {
+        return this.elements.length;
+    }
+
+    @Override
+    int size() {
+        return this.size;
+    }
+
+    @Override
+    void insert(Object element, double key) {
+        if (this.size == this.elements.length) {
+            int worst = this.max.ids[0];
+            if (!(key < this.keys[worst])) {
+                this.evictionListener.accept(element, key);
+                return;
+            }
+            Object evicted = this.elements[worst];
+            double evictedKey = this.keys[worst];
+            this.removeEntry(worst);
+            this.evictionListener.accept(evicted, evictedKey);
+        }
+        int id = this.size++;
+        this.elements[id] = element;
+        this.keys[id] = key;
+        this.min.insert(id, key);
+        this.max.insert(id, -key);
+    }
+
+    @Override
+    Object peek() {
+        return this.elements[this.min.ids[0]];
+    }
+
+    @Override
+    double peekKey() {
+        return this.keys[this.min.ids[0]];
+    }
+
+    @Override
+    Object poll() {
+        int id = this.min.ids[0];
+        Object element = this.elements[id];
+        this.removeEntry(id);
+        return element;
+    }
+
+    @Override
+    boolean contains(Object element) {
+        return this.find(element) >= 0;
+    }
+
+    @Override
+    boolean remove(Object element) {
+        int id = this.find(element);
+        if (id < 0)
+            return false;
+        this.removeEntry(id);
+        return true;
+    }
+
+    @Override
+    boolean update(Object element, double key) {
+        int id = this.find(element);
+        if (id < 0)
+            return false;
+        this.keys[id] = key;
+        this.min.update(id, key);
+        this.max.update(id, -key);
+        return true;
+    }
+
+    @Override
+    boolean removeIf(Predicate<Object> filter) {
+        boolean changed = false;
+        for (int id = this.size - 1; id >= 0; id--) {
+            if (id < this.size && filter.test(this.elements[id])) {
+                this.removeEntry(id);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    void clear() {
+        Arrays.fill(this.elements, 0, this.size, null);
+        this.size = 0;
+        this.min.size = 0;
+        this.max.size = 0;
+    }
+
+    @Override
+    Iterator<Object> iterator() {
+        return new Iterator<Object>() {
+
+            int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < BoundedHeap.this.size;
+            }
+
+            @Override
+            public Object next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                return BoundedHeap.this.elements[this.cursor++];
+            }
+        };
+    }
+
+    /**
+     * walks the min-heap through a secondary heap of positions, see
+     * {@link BinaryHeap#sortedIterator()}.
+     */
+    @Override
+    Iterator<Object> sortedIterator() {
+        SlotHeap frontier = new SlotHeap(this.min.keys, 16);
+        if (this.size > 0)
+            frontier.push(0);
+        return new Iterator<Object>() {
+
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                if (frontier.isEmpty())
+                    throw new NoSuchElementException();
+                int position = frontier.pop();
+                int child = 2 * position + 1;
+                if (child < BoundedHeap.this.size)
+                    frontier.push(child);
+                if (child + 1 < BoundedHeap.this.size)
+                    frontier.push(child + 1);
+                return BoundedHeap.this.elements[BoundedHeap.this.min.ids[position]];
+            }
+        };
+    }
+
+    private int find(Object element) {
+        for (int id = 0; id < this.size; id++)
+            if (Objects.equals(this.elements[id], element))
+                return id;
+        return -1;
+    }
+
+    /**
+     * removes an entry from both heaps. the entry with the highest id takes
+     * over the freed id, so the ids always stay contiguous.
+     */
+    private void removeEntry(int id) {
+        this.min.remove(id);
+        this.max.remove(id);
+        int last = --this.size;
+        if (id != last) {
+            this.elements[id] = this.elements[last];
+            this.keys[id] = this.keys[last];
+            this.min.rename(last, id);
+            this.max.rename(last, id);
+        }
+        this.elements[last] = null;
+    }
+
+}
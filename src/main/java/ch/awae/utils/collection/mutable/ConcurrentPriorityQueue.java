@@ -0,0 +1,212 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * a thread-safe priority queue where each element has a defined priority.
+ *
+ * This is the concurrent counterpart to {@link PriorityQueue}. It can either
+ * be used as a min-queue or as a max-queue. Elements with the same priority
+ * are polled in insertion order.
+ *
+ * The queue is backed by a lock-free skip list, so any number of threads may
+ * add and poll elements concurrently without contending for a global lock.
+ * Iterators are weakly consistent and return the elements in priority order.
+ * {@link #size()} is exact only in the absence of concurrent modifications.
+ * Like other concurrent queues it does not accept {@code null} elements.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <E>
+ *            the element type
+ */
+public final class ConcurrentPriorityQueue<E> extends AbstractQueue<E> {
+
+    private static final class Entry implements Comparable<Entry> {
+
+        final Object element;
+        final double key;
+        final long sequence;
+
+        Entry(Object element, double key, long sequence) {
+            this.element = element;
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Double.compare(this.key, o.key);
+            return c != 0 ? c : Long.compare(this.sequence, o.sequence);
+        }
+
+    }
+
+    /**
+     * creates a new concurrent max-priority-queue
+     *
+     * @param <T>
+     *            the type of the queue
+     * @return the created queue
+     */
+    public static <T> ConcurrentPriorityQueue<T> maxQueue() {
+        return new ConcurrentPriorityQueue<>(false);
+    }
+
+    /**
+     * creates a new concurrent min-priority-queue
+     *
+     * @param <T>
+     *            the type of the queue
+     * @return the created queue
+     */
+    public static <T> ConcurrentPriorityQueue<T> minQueue() {
+        return new ConcurrentPriorityQueue<>(true);
+    }
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder size = new LongAdder();
+    private final boolean isMinQueue;
+
+    private ConcurrentPriorityQueue(boolean isMinQueue) {
+        this.isMinQueue = isMinQueue;
+    }
+
+    /**
+     * indicates if the queue has a min-queue configuration
+     *
+     * @return {@code true} iff the queue is a min-queue
+     */
+    public boolean isMinQueue() {
+        return this.isMinQueue;
+    }
+
+    /**
+     * indicates if the queue has a max-queue configuration
+     *
+     * @return {@code true} iff the queue is a max-queue
+     */
+    public boolean isMaxQueue() {
+        return !this.isMinQueue;
+    }
+
+    /**
+     * Adds a new element with a defined priority
+     *
+     * @param element
+     *            the element
+     * @param priority
+     *            the priority
+     * @throws NullPointerException
+     *             if the element is {@code null}
+     */
+    public void add(E element, double priority) {
+        Objects.requireNonNull(element, "no null elements allowed");
+        this.entries.add(new Entry(element, this.isMinQueue ? priority : -priority, this.sequence.getAndIncrement()));
+        this.size.increment();
+    }
+
+    /**
+     * adds an element with the lowest possible urgency, i.e. behind all
+     * elements with a finite priority.
+     */
+    @Override
+    public boolean offer(E e) {
+        this.add(e, this.isMinQueue ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E poll() {
+        Entry entry = this.entries.pollFirst();
+        if (entry == null)
+            return null;
+        this.size.decrement();
+        return (E) entry.element;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E peek() {
+        try {
+            return (E) this.entries.first().element;
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, this.size.intValue());
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        for (Entry entry : this.entries)
+            if (Objects.equals(entry.element, o))
+                return true;
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        for (Entry entry : this.entries) {
+            if (Objects.equals(entry.element, o) && this.entries.remove(entry)) {
+                this.size.decrement();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        while (this.poll() != null)
+            ;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<Entry> backedIterator = this.entries.iterator();
+        return new Iterator<E>() {
+
+            Entry last = null;
+
+            @Override
+            public boolean hasNext() {
+                return backedIterator.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                this.last = backedIterator.next();
+                return (E) this.last.element;
+            }
+
+            @Override
+            public void remove() {
+                if (this.last == null)
+                    throw new IllegalStateException();
+                if (ConcurrentPriorityQueue.this.entries.remove(this.last))
+                    ConcurrentPriorityQueue.this.size.decrement();
+                this.last = null;
+            }
+        };
+    }
+
+}
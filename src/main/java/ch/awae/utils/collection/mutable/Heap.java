@@ -0,0 +1,89 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * Base class for the heap backends of {@link PriorityQueue}.
+ *
+ * All heaps are min-heaps over {@code double} keys. The queue is responsible
+ * for mapping its priorities onto keys. An indexed heap holds any element at
+ * most once and is able to locate an element without scanning the heap.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+abstract class Heap {
+
+    final boolean indexed;
+
+    Heap(boolean indexed) {
+        this.indexed = indexed;
+    }
+
+    abstract int size();
+
+    /**
+     * adds a new entry. On an indexed heap the caller must ensure the element
+     * is not yet present.
+     */
+    abstract void insert(Object element, double key);
+
+    /**
+     * adds the first {@code count} entries of the given arrays. On an indexed
+     * heap elements that are already present only have their key replaced.
+     */
+    void insertAll(Object[] elements, double[] keys, int count) {
+        for (int i = 0; i < count; i++)
+            if (!this.indexed || !this.update(elements[i], keys[i]))
+                this.insert(elements[i], keys[i]);
+    }
+
+    /**
+     * @return the element with the lowest key. The heap must not be empty.
+     */
+    abstract Object peek();
+
+    /**
+     * @return the lowest key. The heap must not be empty.
+     */
+    abstract double peekKey();
+
+    /**
+     * removes the element with the lowest key. The heap must not be empty.
+     */
+    abstract Object poll();
+
+    abstract boolean contains(Object element);
+
+    /**
+     * removes one occurrence of the element.
+     *
+     * @return {@code true} if the element was present
+     */
+    abstract boolean remove(Object element);
+
+    /**
+     * changes the key of one occurrence of the element.
+     *
+     * @return {@code true} if the element was present
+     */
+    abstract boolean update(Object element, double key);
+
+    abstract boolean removeIf(Predicate<Object> filter);
+
+    abstract void clear();
+
+    /**
+     * iterates over all elements in no particular order.
+     */
+    abstract Iterator<Object> iterator();
+
+    /**
+     * iterates over all elements in key order without modifying the heap. The
+     * elements are ordered lazily, so only the prefix actually iterated over
+     * has to be sorted.
+     */
+    abstract Iterator<Object> sortedIterator();
+
+}
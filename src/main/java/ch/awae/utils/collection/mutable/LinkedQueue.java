@@ -10,6 +10,12 @@ import java.util.Queue;
  * This is a very basic linked queue implementation without any real
  * synchronisation.
  *
+ * The queue is a linked list of chunks, each holding a fixed number of
+ * elements. This way only one node is allocated per chunk instead of per
+ * element. Chunks that have been fully consumed can optionally be kept in a
+ * free-list and reused, so a queue used in a steady producer / consumer pattern
+ * does not allocate at all.
+ *
  * @author Andreas Wälchli
  * @since awaeUtils 1.0.0
  * 
@@ -18,19 +24,64 @@ import java.util.Queue;
  */
 public final class LinkedQueue<E> implements Queue<E> {
 
-    private class Node<T> {
-        T item;
-        Node<T> next;
+    /**
+     * The default number of elements per chunk
+     *
+     * @since awaeUtils 2.2.0
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    private static class Chunk {
+        final Object[] items;
+        // index of the first element
+        int read = 0;
+        // index of the next free slot
+        int write = 0;
+        Chunk next;
 
-        Node(T item) {
-            this.item = item;
+        Chunk(int size) {
+            this.items = new Object[size];
         }
     }
 
-    private Node<E> head = null;
-    private Node<E> tail = null;
+    private final int chunkSize;
+    private final int maxRecycledChunks;
+    private Chunk head = null;
+    private Chunk tail = null;
+    private Chunk recycled = null;
+    private int recycledCount = 0;
     private int size = 0;
 
+    /**
+     * Creates a new queue with the default chunk size and without chunk
+     * recycling.
+     */
+    public LinkedQueue() {
+        this(DEFAULT_CHUNK_SIZE, 0);
+    }
+
+    /**
+     * Creates a new queue
+     *
+     * @param chunkSize
+     *            the number of elements per chunk
+     * @param maxRecycledChunks
+     *            the maximum number of consumed chunks kept for reuse.
+     *            {@code 0} disables recycling.
+     * @throws IllegalArgumentException
+     *             if the chunk size is not positive or the recycling limit is
+     *             negative
+     * @since awaeUtils 2.2.0
+     */
+    public LinkedQueue(int chunkSize, int maxRecycledChunks) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("chunk size must be positive: " + chunkSize);
+        if (maxRecycledChunks < 0)
+            throw new IllegalArgumentException("negative recycling limit: " + maxRecycledChunks);
+        this.chunkSize = chunkSize;
+        this.maxRecycledChunks = maxRecycledChunks;
+    }
+
     @Override
     public int size() {
         return this.size;
@@ -114,19 +165,25 @@ public final class LinkedQueue<E> implements Queue<E> {
 
     @Override
     public void clear() {
+        while (this.head != null) {
+            Chunk next = this.head.next;
+            this.recycle(this.head);
+            this.head = next;
+        }
         this.size = 0;
-        this.tail = this.head = null;
+        this.tail = null;
     }
 
     @Override
     public boolean add(E e) {
-        if (this.head == null) {
-            this.tail = this.head = new Node<>(e);
-        } else {
-            Node<E> node = new Node<>(e);
-            this.tail.next = node;
-            this.tail = node;
+        if (this.tail == null) {
+            this.tail = this.head = this.obtainChunk();
+        } else if (this.tail.write == this.chunkSize) {
+            Chunk chunk = this.obtainChunk();
+            this.tail.next = chunk;
+            this.tail = chunk;
         }
+        this.tail.items[this.tail.write++] = e;
         this.size++;
         return true;
     }
@@ -143,16 +200,24 @@ public final class LinkedQueue<E> implements Queue<E> {
         return this.poll();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public E poll() {
         if (this.size == 0)
             return null;
-        E result = this.head.item;
-        if (this.size > 1)
-            this.head = this.head.next;
-        else
-            this.head = this.tail = null;
+        Chunk chunk = this.head;
+        E result = (E) chunk.items[chunk.read];
+        chunk.items[chunk.read++] = null;
         this.size--;
+        if (chunk.read == chunk.write) {
+            if (chunk == this.tail) {
+                // the queue is empty: keep the chunk for the next element
+                chunk.read = chunk.write = 0;
+            } else {
+                this.head = chunk.next;
+                this.recycle(chunk);
+            }
+        }
         return result;
     }
 
@@ -163,31 +228,60 @@ public final class LinkedQueue<E> implements Queue<E> {
         return this.peek();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public E peek() {
-        return this.size > 0 ? this.head.item : null;
+        return this.size > 0 ? (E) this.head.items[this.head.read] : null;
+    }
+
+    private Chunk obtainChunk() {
+        Chunk chunk = this.recycled;
+        if (chunk == null)
+            return new Chunk(this.chunkSize);
+        this.recycled = chunk.next;
+        this.recycledCount--;
+        chunk.next = null;
+        return chunk;
+    }
+
+    private void recycle(Chunk chunk) {
+        if (this.recycledCount >= this.maxRecycledChunks)
+            return;
+        for (int i = chunk.read; i < chunk.write; i++)
+            chunk.items[i] = null;
+        chunk.read = chunk.write = 0;
+        chunk.next = this.recycled;
+        this.recycled = chunk;
+        this.recycledCount++;
     }
 
     private class QueueIterator<T> implements Iterator<T> {
 
-        private Node<T> currentNode;
+        private Chunk chunk;
+        private int index;
 
-        QueueIterator(Node<T> head) {
-            this.currentNode = new Node<>(null);
-            this.currentNode.next = head;
+        QueueIterator(Chunk head) {
+            this.chunk = head;
+            this.index = head == null ? 0 : head.read;
         }
 
         @Override
-        public synchronized boolean hasNext() {
-            return this.currentNode.next != null;
+        public boolean hasNext() {
+            return this.chunk != null && this.index < this.chunk.write;
         }
 
+        @SuppressWarnings("unchecked")
         @Override
-        public synchronized T next() {
+        public T next() {
             if (!this.hasNext()) {
                 throw new NoSuchElementException();
             }
-            return (this.currentNode = this.currentNode.next).item;
+            T item = (T) this.chunk.items[this.index++];
+            if (this.index == this.chunk.write && this.chunk.next != null) {
+                this.chunk = this.chunk.next;
+                this.index = this.chunk.read;
+            }
+            return item;
         }
 
     }
@@ -0,0 +1,133 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Lock-free unbounded multi-producer single-consumer queue.
+ *
+ * Any number of threads may add elements concurrently, but only a single
+ * thread at a time may consume them (i.e. call {@link #poll()},
+ * {@link #peek()}, {@link #remove()}, {@link #element()}, {@link #clear()} or
+ * {@link #iterator()}). Adding an element is a single atomic exchange,
+ * consuming an element does not need any atomic operation at all. This is the
+ * intrusive linked queue described by Dmitry Vyukov.
+ *
+ * Elements can only be removed from the head of the queue. Removing arbitrary
+ * elements (through {@link #remove(Object)}, {@link #removeAll},
+ * {@link #retainAll}, {@link #removeIf} or {@link Iterator#remove()}) is not
+ * supported and throws an {@link UnsupportedOperationException}.
+ *
+ * While a producer is linking in a new element, the element (and any element
+ * added after it) is not yet visible to the consumer. The queue may therefore
+ * briefly appear empty even though an {@code add} call has already started.
+ * {@code null} elements are not permitted.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <E>
+ *            the element type for this queue
+ */
+public final class MpscQueue<E> extends AbstractQueue<E> {
+
+    private static final class Node<T> {
+        T item;
+        volatile Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT = AtomicReferenceFieldUpdater
+            .newUpdater(Node.class, Node.class, "next");
+
+    // consumer side: the stub node preceding the first element
+    private Node<E> head;
+    // producer side: the last node
+    private final AtomicReference<Node<E>> tail;
+
+    /**
+     * creates a new, empty queue
+     */
+    public MpscQueue() {
+        this.head = new Node<>(null);
+        this.tail = new AtomicReference<>(this.head);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "no null elements allowed");
+        Node<E> node = new Node<>(e);
+        Node<E> previous = this.tail.getAndSet(node);
+        NEXT.lazySet(previous, node);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        Node<E> next = this.head.next;
+        if (next == null)
+            return null;
+        E item = next.item;
+        next.item = null;
+        this.head = next;
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        Node<E> next = this.head.next;
+        return next == null ? null : next.item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.head.next == null;
+    }
+
+    /**
+     * counts the elements currently visible to the consumer. this is a linear
+     * operation.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Node<E> node = this.head.next; node != null && size < Integer.MAX_VALUE; node = node.next)
+            size++;
+        return size;
+    }
+
+    /**
+     * creates a weakly consistent iterator over the elements currently visible
+     * to the consumer. it may only be used by the consumer thread.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            Node<E> current = MpscQueue.this.head;
+
+            @Override
+            public boolean hasNext() {
+                return this.current.next != null;
+            }
+
+            @Override
+            public E next() {
+                Node<E> next = this.current.next;
+                if (next == null)
+                    throw new NoSuchElementException();
+                this.current = next;
+                return next.item;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,307 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Pairing heap over {@code double} keys.
+ *
+ * Inserting an element and decreasing its key are constant-time operations,
+ * removing the minimum runs in amortised logarithmic time. All tree operations
+ * are iterative, so degenerate trees do not exhaust the stack.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+final class PairingHeap extends Heap {
+
+    private static final class Node {
+        final Object element;
+        double key;
+        Node child;
+        Node sibling;
+        // parent if this is the first child, left sibling otherwise
+        Node prev;
+
+        Node(Object element, double key) {
+            this.element = element;
+            this.key = key;
+        }
+    }
+
+    private Node root = null;
+    private int size = 0;
+    private final Map<Object, Node> index;
+
+    PairingHeap(boolean indexed) {
+        super(indexed);
+        this.index = indexed ? new HashMap<>() : null;
+    }
+
+    @Override
+    int size() {
+        return this.size;
+    }
+
+    @Override
+    void insert(Object element, double key) {
+        Node node = new Node(element, key);
+        if (this.index != null)
+            this.index.put(element, node);
+        this.root = this.root == null ? node : meld(this.root, node);
+        this.size++;
+    }
+
+    @Override
+    Object peek() {
+        return this.root.element;
+    }
+
+    @Override
+    double peekKey() {
+        return this.root.key;
+    }
+
+    @Override
+    Object poll() {
+        Node min = this.root;
+        this.root = mergePairs(min.child);
+        this.size--;
+        if (this.index != null)
+            this.index.remove(min.element);
+        return min.element;
+    }
+
+    @Override
+    boolean contains(Object element) {
+        return this.find(element) != null;
+    }
+
+    @Override
+    boolean remove(Object element) {
+        Node node = this.find(element);
+        if (node == null)
+            return false;
+        this.unlink(node);
+        if (this.index != null)
+            this.index.remove(element);
+        return true;
+    }
+
+    @Override
+    boolean update(Object element, double key) {
+        Node node = this.find(element);
+        if (node == null)
+            return false;
+        if (key < node.key) {
+            node.key = key;
+            if (node != this.root) {
+                cut(node);
+                this.root = meld(this.root, node);
+            }
+        } else {
+            this.unlink(node);
+            node.key = key;
+            this.root = this.root == null ? node : meld(this.root, node);
+            this.size++;
+        }
+        return true;
+    }
+
+    @Override
+    boolean removeIf(Predicate<Object> filter) {
+        Deque<Node> matches = new ArrayDeque<>();
+        for (Node node : this.nodes())
+            if (filter.test(node.element))
+                matches.add(node);
+        for (Node node : matches) {
+            this.unlink(node);
+            if (this.index != null)
+                this.index.remove(node.element);
+        }
+        return !matches.isEmpty();
+    }
+
+    @Override
+    void clear() {
+        this.root = null;
+        this.size = 0;
+        if (this.index != null)
+            this.index.clear();
+    }
+
+    @Override
+    Iterator<Object> iterator() {
+        Iterator<Node> nodes = this.nodes().iterator();
+        return new Iterator<Object>() {
+
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return nodes.next().element;
+            }
+        };
+    }
+
+    /**
+     * walks the tree through a secondary heap of nodes. the children of a node
+     * are added to the secondary heap once the node has been returned.
+     */
+    @Override
+    Iterator<Object> sortedIterator() {
+        java.util.PriorityQueue<Node> frontier = new java.util.PriorityQueue<>(
+                (a, b) -> Double.compare(a.key, b.key));
+        if (this.root != null)
+            frontier.add(this.root);
+        return new Iterator<Object>() {
+
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                Node node = frontier.poll();
+                if (node == null)
+                    throw new NoSuchElementException();
+                for (Node child = node.child; child != null; child = child.sibling)
+                    frontier.add(child);
+                return node.element;
+            }
+        };
+    }
+
+    // #### TREE OPERATIONS ####
+
+    private Node find(Object element) {
+        if (this.index != null)
+            return this.index.get(element);
+        for (Node node : this.nodes())
+            if (Objects.equals(node.element, element))
+                return node;
+        return null;
+    }
+
+    /**
+     * removes a node from the tree. its children are merged back into the
+     * heap.
+     */
+    private void unlink(Node node) {
+        if (node == this.root) {
+            this.root = mergePairs(node.child);
+        } else {
+            cut(node);
+            Node children = mergePairs(node.child);
+            if (children != null)
+                this.root = meld(this.root, children);
+        }
+        node.child = null;
+        this.size--;
+    }
+
+    private Iterable<Node> nodes() {
+        return () -> new Iterator<Node>() {
+
+            final Deque<Node> pending = new ArrayDeque<>();
+            {
+                if (PairingHeap.this.root != null)
+                    this.pending.push(PairingHeap.this.root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !this.pending.isEmpty();
+            }
+
+            @Override
+            public Node next() {
+                if (this.pending.isEmpty())
+                    throw new NoSuchElementException();
+                Node node = this.pending.pop();
+                if (node.sibling != null)
+                    this.pending.push(node.sibling);
+                if (node.child != null)
+                    this.pending.push(node.child);
+                return node;
+            }
+        };
+    }
+
+    /**
+     * detaches a non-root node (together with its subtree) from its parent.
+     */
+    private static void cut(Node node) {
+        if (node.prev.child == node)
+            node.prev.child = node.sibling;
+        else
+            node.prev.sibling = node.sibling;
+        if (node.sibling != null)
+            node.sibling.prev = node.prev;
+        node.prev = null;
+        node.sibling = null;
+    }
+
+    /**
+     * melds two detached trees. the tree with the larger key becomes the first
+     * child of the other one.
+     */
+    private static Node meld(Node a, Node b) {
+        if (b.key < a.key) {
+            Node t = a;
+            a = b;
+            b = t;
+        }
+        b.sibling = a.child;
+        if (a.child != null)
+            a.child.prev = b;
+        b.prev = a;
+        a.child = b;
+        return a;
+    }
+
+    /**
+     * standard two-pass merge of a sibling list into a single tree.
+     */
+    private static Node mergePairs(Node first) {
+        if (first == null)
+            return null;
+        // pass 1: meld pairs left to right, collect them as a stack
+        Node pairs = null;
+        while (first != null) {
+            Node a = first;
+            Node b = a.sibling;
+            first = b == null ? null : b.sibling;
+            a.sibling = a.prev = null;
+            Node m = a;
+            if (b != null) {
+                b.sibling = b.prev = null;
+                m = meld(a, b);
+            }
+            m.sibling = pairs;
+            pairs = m;
+        }
+        // pass 2: meld the pairs right to left
+        Node result = pairs;
+        pairs = pairs.sibling;
+        result.sibling = null;
+        while (pairs != null) {
+            Node next = pairs.sibling;
+            pairs.sibling = null;
+            result = meld(pairs, result);
+            pairs = next;
+        }
+        return result;
+    }
+
+}
@@ -1,19 +1,54 @@
 package ch.awae.utils.collection.mutable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Queue;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * a priority queue implementation where each element has a defined priority.
- * 
+ *
  * It can either be used as a min-queue or as a max-queue. In a min-queue the
  * first element is always the one with the lowest priority value, in a
  * max-queue it is the element with the highest priority value
- * 
+ *
+ * <p>
+ * An <em>indexed</em> queue (see {@link #indexedMinQueue()} and
+ * {@link #indexedMaxQueue()}) additionally maintains a hash index from each
+ * element to its position in the heap. Such a queue holds every element at most
+ * once: adding an element that is already present simply updates its priority.
+ * In return {@link #contains(Object)} runs in constant time and
+ * {@link #remove(Object)} as well as {@link #setPriority(Object, double)} run in
+ * logarithmic time instead of requiring a linear scan.
+ * </p>
+ *
+ * <p>
+ * A <em>bounded</em> queue (see {@link #boundedMinQueue(int)} and
+ * {@link #boundedMaxQueue(int)}) holds at most a fixed number of elements.
+ * Whenever an element is added to a full queue, the element that would be
+ * polled last (possibly the new element itself) is evicted and reported to an
+ * optional eviction listener. This allows keeping the best {@code n} elements
+ * of an arbitrarily large input in constant memory.
+ * </p>
+ *
+ * <p>
+ * The queue can be backed by different heap implementations (see
+ * {@link Backend}). By default a binary heap is used. It holds elements and
+ * priorities in parallel arrays, so once the queue has reached its working
+ * size, adding and polling elements does not allocate.
+ * </p>
+ *
  * @author Andreas Wälchli
  * @since awaeUtils 1.0.0
  *
@@ -22,37 +57,38 @@ import java.util.stream.Collectors;
  */
 public class PriorityQueue<E> implements Queue<E> {
 
-    private class QueueElement implements Comparable<QueueElement> {
-
-        Object element;
-        double priority;
-
-        QueueElement(Object element, double priority) {
-            this.element = element;
-            this.priority = priority;
-        }
-
-        @Override
-        public int compareTo(QueueElement o) {
-            return (PriorityQueue.this.isMinQueue ? 1 : -1) * Double.compare(this.priority, o.priority);
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (!(obj instanceof PriorityQueue.QueueElement))
-                return false;
-            return Objects.equals(this.element, ((PriorityQueue<?>.QueueElement) obj).element);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.element);
-        }
+    /**
+     * The heap implementations a {@link PriorityQueue} can be backed by.
+     *
+     * @author Andreas Wälchli
+     * @since awaeUtils 2.2.0
+     */
+    public static enum Backend {
+        /**
+         * Array-based binary heap. This is the best general purpose choice and
+         * does not allocate per element.
+         */
+        BINARY,
+        /**
+         * Pairing heap. Adding elements and raising their rank in the queue
+         * (i.e. decrease-key on a min-queue) are constant-time operations.
+         * Preferable for searches with many priority updates.
+         */
+        PAIRING,
+        /**
+         * Radix heap. Only supports min-queues with non-negative priorities
+         * that are <em>monotone</em>: no priority may be lower than the
+         * priority of the last polled element. Such workloads (e.g. Dijkstra
+         * searches) are processed faster than with a binary heap. Violations
+         * of these constraints are rejected with an
+         * {@link IllegalArgumentException}.
+         */
+        RADIX
     }
 
     /**
      * creates a new max-priority-queue
-     * 
+     *
      * @param <T>
      *            the type of the queue
      * @return the created queue
@@ -64,7 +100,7 @@ public class PriorityQueue<E> implements Queue<E> {
 
     /**
      * creates a new min-priority-queue
-     * 
+     *
      * @param <T>
      *            the type of the queue
      * @return the created queue
@@ -74,73 +110,364 @@ public class PriorityQueue<E> implements Queue<E> {
         return new PriorityQueue<>(true);
     }
 
-    private java.util.PriorityQueue<QueueElement> backer;
+    /**
+     * creates a new indexed max-priority-queue
+     *
+     * @param <T>
+     *            the type of the queue
+     * @return the created queue
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> indexedMaxQueue() {
+        return new PriorityQueue<>(false, true);
+    }
+
+    /**
+     * creates a new indexed min-priority-queue
+     *
+     * @param <T>
+     *            the type of the queue
+     * @return the created queue
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> indexedMinQueue() {
+        return new PriorityQueue<>(true, true);
+    }
+
+    /**
+     * creates a new max-priority-queue with the given backend
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param backend
+     *            the heap implementation to use
+     * @return the created queue
+     * @throws IllegalArgumentException
+     *             the backend does not support max-queues
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> maxQueue(Backend backend) {
+        return new PriorityQueue<>(false, false, backend);
+    }
+
+    /**
+     * creates a new min-priority-queue with the given backend
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param backend
+     *            the heap implementation to use
+     * @return the created queue
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> minQueue(Backend backend) {
+        return new PriorityQueue<>(true, false, backend);
+    }
+
+    /**
+     * creates a new indexed max-priority-queue with the given backend
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param backend
+     *            the heap implementation to use
+     * @return the created queue
+     * @throws IllegalArgumentException
+     *             the backend does not support max-queues
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> indexedMaxQueue(Backend backend) {
+        return new PriorityQueue<>(false, true, backend);
+    }
+
+    /**
+     * creates a new indexed min-priority-queue with the given backend
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param backend
+     *            the heap implementation to use
+     * @return the created queue
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> indexedMinQueue(Backend backend) {
+        return new PriorityQueue<>(true, true, backend);
+    }
+
+    /**
+     * creates a new bounded max-priority-queue. when the queue is full, the
+     * element with the lowest priority is evicted.
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param capacity
+     *            the maximum number of elements in the queue
+     * @return the created queue
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> boundedMaxQueue(int capacity) {
+        return new PriorityQueue<>(false, capacity, (e, p) -> {
+        });
+    }
+
+    /**
+     * creates a new bounded max-priority-queue. when the queue is full, the
+     * element with the lowest priority is evicted.
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param capacity
+     *            the maximum number of elements in the queue
+     * @param evictionListener
+     *            invoked with every evicted element and its priority
+     * @return the created queue
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> boundedMaxQueue(int capacity, ObjDoubleConsumer<? super T> evictionListener) {
+        return new PriorityQueue<>(false, capacity, evictionListener);
+    }
+
+    /**
+     * creates a new bounded min-priority-queue. when the queue is full, the
+     * element with the highest priority is evicted.
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param capacity
+     *            the maximum number of elements in the queue
+     * @return the created queue
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> boundedMinQueue(int capacity) {
+        return new PriorityQueue<>(true, capacity, (e, p) -> {
+        });
+    }
+
+    /**
+     * creates a new bounded min-priority-queue. when the queue is full, the
+     * element with the highest priority is evicted.
+     *
+     * @param <T>
+     *            the type of the queue
+     * @param capacity
+     *            the maximum number of elements in the queue
+     * @param evictionListener
+     *            invoked with every evicted element and its priority
+     * @return the created queue
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> PriorityQueue<T> boundedMinQueue(int capacity, ObjDoubleConsumer<? super T> evictionListener) {
+        return new PriorityQueue<>(true, capacity, evictionListener);
+    }
+
+    private final Heap heap;
+    private final Backend backend;
+    private int modCount = 0;
 
     final boolean isMinQueue;
 
     /**
      * instantiates a new priority queue
-     * 
+     *
      * @param isMinQueue
      *            {@code true} if the queue should be a min queue, {@code false}
      *            if it should be a max queue
      */
     protected PriorityQueue(boolean isMinQueue) {
+        this(isMinQueue, false);
+    }
+
+    /**
+     * instantiates a new priority queue
+     *
+     * @param isMinQueue
+     *            {@code true} if the queue should be a min queue, {@code false}
+     *            if it should be a max queue
+     * @param indexed
+     *            {@code true} if the queue should maintain an element index
+     * @since awaeUtils 2.2.0
+     */
+    protected PriorityQueue(boolean isMinQueue, boolean indexed) {
+        this(isMinQueue, indexed, Backend.BINARY);
+    }
+
+    /**
+     * instantiates a new priority queue
+     *
+     * @param isMinQueue
+     *            {@code true} if the queue should be a min queue, {@code false}
+     *            if it should be a max queue
+     * @param indexed
+     *            {@code true} if the queue should maintain an element index
+     * @param backend
+     *            the heap implementation to use
+     * @throws IllegalArgumentException
+     *             the backend does not support the queue configuration
+     * @since awaeUtils 2.2.0
+     */
+    protected PriorityQueue(boolean isMinQueue, boolean indexed, Backend backend) {
+        Objects.requireNonNull(backend, "backend may not be null");
         this.isMinQueue = isMinQueue;
-        this.backer = new java.util.PriorityQueue<>();
+        this.backend = backend;
+        switch (backend) {
+            case PAIRING:
+                this.heap = new PairingHeap(indexed);
+                break;
+            case RADIX:
+                if (!isMinQueue)
+                    throw new IllegalArgumentException("radix backend only supports min-queues");
+                this.heap = new RadixHeap(indexed);
+                break;
+            default:
+                this.heap = new BinaryHeap(indexed);
+        }
+    }
+
+    /**
+     * instantiates a new bounded priority queue
+     *
+     * @param isMinQueue
+     *            {@code true} if the queue should be a min queue, {@code false}
+     *            if it should be a max queue
+     * @param capacity
+     *            the maximum number of elements in the queue
+     * @param evictionListener
+     *            invoked with every evicted element and its priority
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive
+     * @since awaeUtils 2.2.0
+     */
+    protected PriorityQueue(boolean isMinQueue, int capacity, ObjDoubleConsumer<? super E> evictionListener) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        Objects.requireNonNull(evictionListener, "eviction listener may not be null");
+        this.isMinQueue = isMinQueue;
+        this.backend = Backend.BINARY;
+        this.heap = new BoundedHeap(capacity,
+                (element, key) -> evictionListener.accept(this.cast(element), this.fromKey(key)));
     }
 
     @Override
     public boolean add(E e) {
-        return this.backer.add(new QueueElement(e, this.isMinQueue ? Double.MAX_VALUE : Double.MIN_VALUE));
+        return this.insertIfAbsent(e, this.isMinQueue ? Double.MAX_VALUE : Double.MIN_VALUE);
     }
 
     /**
-     * Adds a new element with a defined priority
-     * 
+     * Adds a new element with a defined priority. On an indexed queue an
+     * element that is already present only has its priority updated.
+     *
      * @param element
      *            the element
      * @param priority
      *            the priority
      */
     public void add(E element, double priority) {
-        this.backer.add(new QueueElement(element, priority));
+        this.modCount++;
+        if (!this.heap.indexed || !this.heap.update(element, this.toKey(priority)))
+            this.heap.insert(element, this.toKey(priority));
+    }
+
+    /**
+     * Adds multiple elements with their priorities at once. The element at
+     * index {@code i} receives the priority at index {@code i}. On an indexed
+     * queue elements that are already present only have their priority
+     * updated.
+     *
+     * A large batch is loaded into a binary heap in linear time instead of
+     * adding the elements one at a time.
+     *
+     * @param elements
+     *            the elements
+     * @param priorities
+     *            the priorities
+     * @throws IllegalArgumentException
+     *             if the arrays differ in length
+     * @since awaeUtils 2.2.0
+     */
+    public void addAll(E[] elements, double[] priorities) {
+        if (elements.length != priorities.length)
+            throw new IllegalArgumentException("element and priority count differ: " + elements.length + " != "
+                    + priorities.length);
+        double[] keys = priorities;
+        if (!this.isMinQueue) {
+            keys = new double[priorities.length];
+            for (int i = 0; i < keys.length; i++)
+                keys[i] = this.toKey(priorities[i]);
+        }
+        this.modCount++;
+        this.heap.insertAll(elements, keys, elements.length);
+    }
+
+    /**
+     * Adds all entries of a map as elements with their priorities.
+     *
+     * @param elements
+     *            a map from elements to their priorities
+     * @see #addAll(Object[], double[])
+     * @since awaeUtils 2.2.0
+     */
+    public void addAll(Map<? extends E, Double> elements) {
+        Object[] array = new Object[elements.size()];
+        double[] keys = new double[array.length];
+        int i = 0;
+        for (Map.Entry<? extends E, Double> entry : elements.entrySet()) {
+            array[i] = entry.getKey();
+            keys[i++] = this.toKey(entry.getValue());
+        }
+        this.modCount++;
+        this.heap.insertAll(array, keys, i);
     }
 
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        return c.stream().map(this::add).reduce(false, (a, b) -> a || b);
+        boolean changed = false;
+        for (E e : c)
+            changed |= this.add(e);
+        return changed;
     }
 
     @Override
     public void clear() {
-        this.backer.clear();
+        this.modCount++;
+        this.heap.clear();
     }
 
     @Override
     public boolean contains(Object o) {
-        return this.backer.contains(new QueueElement(o, 0));
+        return this.heap.contains(o);
     }
 
     @Override
     public boolean containsAll(Collection<?> c) {
-        return c.stream().allMatch(this::contains);
+        for (Object o : c)
+            if (!this.contains(o))
+                return false;
+        return true;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public E element() {
-        return (E) this.backer.element().element;
+        if (this.isEmpty())
+            throw new NoSuchElementException("Queue is empty");
+        return this.peek();
     }
 
     @Override
     public boolean isEmpty() {
-        return this.backer.isEmpty();
+        return this.heap.size() == 0;
     }
 
     /**
      * indicates if the queue has a max-queue configuration
-     * 
+     *
      * @return {@code true} iff the queue is a max-queue
      *  1.2
      */
@@ -150,7 +477,7 @@ public class PriorityQueue<E> implements Queue<E> {
 
     /**
      * indicates if the queue has a min-queue configuration
-     * 
+     *
      * @return {@code true} iff the queue is a min-queue
      *  1.2
      */
@@ -158,12 +485,53 @@ public class PriorityQueue<E> implements Queue<E> {
         return this.isMinQueue;
     }
 
+    /**
+     * indicates if the queue maintains an element index
+     *
+     * @return {@code true} iff the queue is indexed
+     * @since awaeUtils 2.2.0
+     */
+    public boolean isIndexed() {
+        return this.heap.indexed;
+    }
+
+    /**
+     * indicates if the queue has a bounded capacity
+     *
+     * @return {@code true} iff the queue is bounded
+     * @since awaeUtils 2.2.0
+     */
+    public boolean isBounded() {
+        return this.heap instanceof BoundedHeap;
+    }
+
+    /**
+     * provides the maximum number of elements the queue can hold
+     *
+     * @return the capacity of a bounded queue, {@link Integer#MAX_VALUE} for
+     *         an unbounded queue
+     * @since awaeUtils 2.2.0
+     */
+    public int getCapacity() {
+        return this.isBounded() ? ((BoundedHeap) this.heap).capacity() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * provides the heap implementation backing this queue
+     *
+     * @return the backend
+     * @since awaeUtils 2.2.0
+     */
+    public Backend getBackend() {
+        return this.backend;
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new Iterator<E>() {
 
-            @SuppressWarnings("synthetic-access")
-            Iterator<QueueElement> backedIterator = PriorityQueue.this.backer.iterator();
+            Iterator<Object> backedIterator = PriorityQueue.this.heap.iterator();
+            int expectedModCount = PriorityQueue.this.modCount;
 
             @Override
             public boolean hasNext() {
@@ -173,71 +541,192 @@ public class PriorityQueue<E> implements Queue<E> {
             @SuppressWarnings("unchecked")
             @Override
             public E next() {
-                return (E) this.backedIterator.next().element;
+                if (this.expectedModCount != PriorityQueue.this.modCount)
+                    throw new ConcurrentModificationException();
+                return (E) this.backedIterator.next();
+            }
+        };
+    }
+
+    /**
+     * Provides a stream over the elements of this queue in the order they
+     * would be polled. The queue is not modified. Since the elements are
+     * ordered lazily, consuming only the first {@code k} elements of the stream
+     * does not require the whole queue to be sorted.
+     *
+     * The queue must not be modified while the stream is in use.
+     *
+     * @return an ordered stream over the queue elements
+     * @since awaeUtils 2.2.0
+     */
+    public Stream<E> sortedStream() {
+        return StreamSupport.stream(Spliterators.spliterator(this.sortedIterator(), this.size(),
+                Spliterator.ORDERED | Spliterator.SIZED), false);
+    }
+
+    /**
+     * Provides the first {@code k} elements in the order they would be polled
+     * without modifying the queue.
+     *
+     * @param k
+     *            the maximum number of elements to return
+     * @return a list containing the first {@code k} elements, or all elements
+     *         if the queue holds less than {@code k} elements
+     * @throws IllegalArgumentException
+     *             if {@code k} is negative
+     * @since awaeUtils 2.2.0
+     */
+    public List<E> topK(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("negative element count: " + k);
+        int count = Math.min(k, this.size());
+        List<E> result = new ArrayList<>(count);
+        Iterator<E> it = this.sortedIterator();
+        for (int i = 0; i < count; i++)
+            result.add(it.next());
+        return result;
+    }
+
+    private Iterator<E> sortedIterator() {
+        return new Iterator<E>() {
+
+            Iterator<Object> backedIterator = PriorityQueue.this.heap.sortedIterator();
+            int expectedModCount = PriorityQueue.this.modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.backedIterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                if (this.expectedModCount != PriorityQueue.this.modCount)
+                    throw new ConcurrentModificationException();
+                return PriorityQueue.this.cast(this.backedIterator.next());
             }
         };
     }
 
     @Override
     public boolean offer(E e) {
-        return this.backer.offer(new QueueElement(e, 0));
+        return this.insertIfAbsent(e, 0);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public E peek() {
-        return (E) this.backer.peek().element;
+        return this.isEmpty() ? null : (E) this.heap.peek();
+    }
+
+    /**
+     * Provides the priority of the head of the queue
+     *
+     * @return the priority of the first element
+     * @throws NoSuchElementException
+     *             the queue is empty
+     * @since awaeUtils 2.2.0
+     */
+    public double peekPriority() {
+        if (this.isEmpty())
+            throw new NoSuchElementException("Queue is empty");
+        return this.fromKey(this.heap.peekKey());
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public E poll() {
-        return (E) this.backer.poll().element;
+        if (this.isEmpty())
+            return null;
+        this.modCount++;
+        return (E) this.heap.poll();
+    }
+
+    /**
+     * Removes up to {@code k} elements from the head of the queue and stores
+     * them in the given array in the order they were polled.
+     *
+     * @param k
+     *            the maximum number of elements to poll
+     * @param target
+     *            the array to store the elements in, starting at index 0
+     * @return the number of elements polled
+     * @throws IllegalArgumentException
+     *             if {@code k} is negative
+     * @throws IndexOutOfBoundsException
+     *             if {@code k} exceeds the length of the array
+     * @since awaeUtils 2.2.0
+     */
+    public int pollBatch(int k, E[] target) {
+        if (k < 0)
+            throw new IllegalArgumentException("negative batch size: " + k);
+        if (k > target.length)
+            throw new IndexOutOfBoundsException("batch size " + k + " exceeds target length " + target.length);
+        int count = Math.min(k, this.heap.size());
+        if (count > 0)
+            this.modCount++;
+        for (int i = 0; i < count; i++)
+            target[i] = this.cast(this.heap.poll());
+        return count;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public E remove() {
-        return (E) this.backer.remove().element;
+        if (this.isEmpty())
+            throw new NoSuchElementException("Queue is empty");
+        return this.poll();
     }
 
     @Override
     public boolean remove(Object o) {
-        return this.backer.remove(new QueueElement(o, 0));
+        if (!this.heap.remove(o))
+            return false;
+        this.modCount++;
+        return true;
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        return c.stream().map(this::remove).reduce(false, (a, b) -> a || b);
+        if (!this.heap.removeIf(c::contains))
+            return false;
+        this.modCount++;
+        return true;
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        return this.backer.retainAll(c.stream().map(e -> new QueueElement(e, 0)).collect(Collectors.toList()));
+        if (!this.heap.removeIf(e -> !c.contains(e)))
+            return false;
+        this.modCount++;
+        return true;
     }
 
     /**
-     * Sets the priority of an element in the queue
-     * 
+     * Sets the priority of an element in the queue. If the element is not
+     * present, it is added.
+     *
      * @param element
      *            the element to change the priority for
      * @param priority
      *            the new priority of the element
      */
     public void setPriority(E element, double priority) {
-        QueueElement e = new QueueElement(element, priority);
-        this.backer.remove(e);
-        this.backer.add(e);
+        this.modCount++;
+        if (!this.heap.update(element, this.toKey(priority)))
+            this.heap.insert(element, this.toKey(priority));
     }
 
     @Override
     public int size() {
-        return this.backer.size();
+        return this.heap.size();
     }
 
     @Override
     public Object[] toArray() {
-        return this.backer.stream().map(e -> e.element).toArray();
+        Object[] array = new Object[this.heap.size()];
+        Iterator<Object> it = this.heap.iterator();
+        for (int i = 0; i < array.length; i++)
+            array[i] = it.next();
+        return array;
     }
 
     @SuppressWarnings("unchecked")
@@ -246,4 +735,28 @@ public class PriorityQueue<E> implements Queue<E> {
         return (T[]) Arrays.copyOf(this.toArray(), this.size(), a.getClass());
     }
 
+    @SuppressWarnings("unchecked")
+    private E cast(Object element) {
+        return (E) element;
+    }
+
+    private boolean insertIfAbsent(E e, double priority) {
+        if (this.heap.indexed && this.heap.contains(e))
+            return false;
+        this.modCount++;
+        this.heap.insert(e, this.toKey(priority));
+        return true;
+    }
+
+    /**
+     * the heap is always a min-heap. max-queues negate their priorities.
+     */
+    private double toKey(double priority) {
+        return this.isMinQueue ? priority : -priority;
+    }
+
+    private double fromKey(double key) {
+        return this.isMinQueue ? key : -key;
+    }
+
 }
@@ -0,0 +1,317 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Radix heap over non-negative {@code double} keys.
+ *
+ * A radix heap is a <em>monotone</em> priority queue: no key may ever be lower
+ * than the last key removed from the heap. This is the case for Dijkstra-style
+ * searches with non-negative edge weights. Entries are kept in buckets selected
+ * by the highest bit in which their key differs from the last removed key.
+ * Since non-negative IEEE 754 doubles order the same way as their bit
+ * patterns, the buckets are derived from the raw bit representation of the
+ * keys. Inserting is constant-time, removing the minimum runs in amortised
+ * constant time per key bit.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+final class RadixHeap extends Heap {
+
+    private static final int BUCKETS = 65;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private static final class Location {
+        int bucket;
+        int position;
+    }
+
+    private final Object[][] elements = new Object[BUCKETS][];
+    private final double[][] keys = new double[BUCKETS][];
+    private final int[] sizes = new int[BUCKETS];
+    private final Map<Object, Location> index;
+    private int size = 0;
+    private long last = 0;
+
+    RadixHeap(boolean indexed) {
+        super(indexed);
+        this.index = indexed ? new HashMap<>() : null;
+        for (int i = 0; i < BUCKETS; i++) {
+            this.elements[i] = new Object[DEFAULT_CAPACITY];
+            this.keys[i] = new double[DEFAULT_CAPACITY];
+        }
+    }
+
+    @Override
+    int size() {
+        return this.size;
+    }
+
+    @Override
+    void insert(Object element, double key) {
+        this.push(element, this.checkKey(key), null);
+        this.size++;
+    }
+
+    @Override
+    Object peek() {
+        int b = this.firstBucket();
+        return this.elements[b][this.minPosition(b)];
+    }
+
+    @Override
+    double peekKey() {
+        int b = this.firstBucket();
+        return this.keys[b][this.minPosition(b)];
+    }
+
+    @Override
+    Object poll() {
+        this.settle();
+        Object element = this.removeAt(0, this.sizes[0] - 1);
+        if (this.index != null)
+            this.index.remove(element);
+        this.size--;
+        return element;
+    }
+
+    @Override
+    boolean contains(Object element) {
+        return this.find(element) != null;
+    }
+
+    @Override
+    boolean remove(Object element) {
+        Location location = this.find(element);
+        if (location == null)
+            return false;
+        this.removeAt(location.bucket, location.position);
+        if (this.index != null)
+            this.index.remove(element);
+        this.size--;
+        return true;
+    }
+
+    @Override
+    boolean update(Object element, double key) {
+        Location location = this.find(element);
+        if (location == null)
+            return false;
+        double checked = this.checkKey(key);
+        this.removeAt(location.bucket, location.position);
+        this.push(element, checked, this.index == null ? null : location);
+        return true;
+    }
+
+    @Override
+    boolean removeIf(Predicate<Object> filter) {
+        boolean changed = false;
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int i = this.sizes[b] - 1; i >= 0; i--) {
+                Object element = this.elements[b][i];
+                if (filter.test(element)) {
+                    this.removeAt(b, i);
+                    if (this.index != null)
+                        this.index.remove(element);
+                    this.size--;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    void clear() {
+        for (int b = 0; b < BUCKETS; b++) {
+            Arrays.fill(this.elements[b], 0, this.sizes[b], null);
+            this.sizes[b] = 0;
+        }
+        if (this.index != null)
+            this.index.clear();
+        this.size = 0;
+        this.last = 0;
+    }
+
+    @Override
+    Iterator<Object> iterator() {
+        return new Iterator<Object>() {
+
+            int bucket = 0;
+            int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (this.bucket < BUCKETS && this.position >= RadixHeap.this.sizes[this.bucket]) {
+                    this.bucket++;
+                    this.position = 0;
+                }
+                return this.bucket < BUCKETS;
+            }
+
+            @Override
+            public Object next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                return RadixHeap.this.elements[this.bucket][this.position++];
+            }
+        };
+    }
+
+    /**
+     * all keys in a bucket are lower than the keys in any later bucket, so the
+     * buckets are walked in order. each bucket is only ordered (through a
+     * secondary heap of positions) once the iteration reaches it.
+     */
+    @Override
+    Iterator<Object> sortedIterator() {
+        return new Iterator<Object>() {
+
+            int bucket = -1;
+            SlotHeap positions = null;
+
+            @Override
+            public boolean hasNext() {
+                while (this.positions == null || this.positions.isEmpty()) {
+                    if (++this.bucket >= BUCKETS)
+                        return false;
+                    int count = RadixHeap.this.sizes[this.bucket];
+                    if (count > 0)
+                        this.positions = SlotHeap.of(RadixHeap.this.keys[this.bucket], count);
+                }
+                return true;
+            }
+
+            @Override
+            public Object next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                return RadixHeap.this.elements[this.bucket][this.positions.pop()];
+            }
+        };
+    }
+
+    // #### BUCKET OPERATIONS ####
+
+    private double checkKey(double key) {
+        // normalises -0.0 to 0.0
+        key += 0.0;
+        if (!(key >= 0))
+            throw new IllegalArgumentException("radix heap requires non-negative keys: " + key);
+        if (Double.doubleToRawLongBits(key) < this.last)
+            throw new IllegalArgumentException("radix heap requires monotone keys: " + key + " < "
+                    + Double.longBitsToDouble(this.last));
+        return key;
+    }
+
+    private int bucketOf(double key) {
+        return 64 - Long.numberOfLeadingZeros(Double.doubleToRawLongBits(key) ^ this.last);
+    }
+
+    private void push(Object element, double key, Location location) {
+        int b = this.bucketOf(key);
+        int position = this.sizes[b]++;
+        if (position == this.elements[b].length) {
+            this.elements[b] = Arrays.copyOf(this.elements[b], 2 * position);
+            this.keys[b] = Arrays.copyOf(this.keys[b], 2 * position);
+        }
+        this.elements[b][position] = element;
+        this.keys[b][position] = key;
+        if (this.index != null) {
+            if (location == null) {
+                location = this.index.get(element);
+                if (location == null) {
+                    location = new Location();
+                    this.index.put(element, location);
+                }
+            }
+            location.bucket = b;
+            location.position = position;
+        }
+    }
+
+    /**
+     * removes an entry by swapping the last entry of the bucket into its place.
+     */
+    private Object removeAt(int bucket, int position) {
+        Object element = this.elements[bucket][position];
+        int last = --this.sizes[bucket];
+        if (position != last) {
+            Object moved = this.elements[bucket][last];
+            this.elements[bucket][position] = moved;
+            this.keys[bucket][position] = this.keys[bucket][last];
+            if (this.index != null)
+                this.index.get(moved).position = position;
+        }
+        this.elements[bucket][last] = null;
+        return element;
+    }
+
+    private int firstBucket() {
+        int b = 0;
+        while (this.sizes[b] == 0)
+            b++;
+        return b;
+    }
+
+    /**
+     * finds the position of the lowest key in a bucket. all keys in bucket 0
+     * are equal, so its last entry is taken directly.
+     */
+    private int minPosition(int bucket) {
+        int count = this.sizes[bucket];
+        if (bucket == 0)
+            return count - 1;
+        double[] bucketKeys = this.keys[bucket];
+        int min = 0;
+        for (int i = 1; i < count; i++)
+            if (bucketKeys[i] < bucketKeys[min])
+                min = i;
+        return min;
+    }
+
+    /**
+     * ensures that bucket 0 is not empty by redistributing the first non-empty
+     * bucket around its minimum. this moves the monotone floor up to that
+     * minimum, so it must only be called when the minimum is removed.
+     */
+    private void settle() {
+        if (this.sizes[0] > 0)
+            return;
+        int b = this.firstBucket();
+        double[] bucketKeys = this.keys[b];
+        Object[] bucketElements = this.elements[b];
+        int count = this.sizes[b];
+        this.last = Double.doubleToRawLongBits(bucketKeys[this.minPosition(b)]);
+        // all entries of bucket b land in strictly lower buckets
+        this.sizes[b] = 0;
+        for (int i = 0; i < count; i++) {
+            this.push(bucketElements[i], bucketKeys[i], null);
+            bucketElements[i] = null;
+        }
+    }
+
+    private Location find(Object element) {
+        if (this.index != null)
+            return this.index.get(element);
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int i = 0; i < this.sizes[b]; i++) {
+                if (Objects.equals(this.elements[b][i], element)) {
+                    Location location = new Location();
+                    location.bucket = b;
+                    location.position = i;
+                    return location;
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,83 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of {@code int} slots ordered by the keys stored in an
+ * external {@code double} array.
+ *
+ * Used as a secondary heap to walk the entries of another heap in key order
+ * without modifying it.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+final class SlotHeap {
+
+    private final double[] keys;
+    private int[] slots;
+    private int size = 0;
+
+    SlotHeap(double[] keys, int capacity) {
+        this.keys = keys;
+        this.slots = new int[Math.max(capacity, 4)];
+    }
+
+    /**
+     * creates a heap holding the slots {@code 0} to {@code count - 1}. the heap
+     * is built in linear time.
+     */
+    static SlotHeap of(double[] keys, int count) {
+        SlotHeap heap = new SlotHeap(keys, count);
+        for (int i = 0; i < count; i++)
+            heap.slots[i] = i;
+        heap.size = count;
+        for (int i = (count >>> 1) - 1; i >= 0; i--)
+            heap.siftDown(i, heap.slots[i]);
+        return heap;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    void push(int slot) {
+        if (this.size == this.slots.length)
+            this.slots = Arrays.copyOf(this.slots, 2 * this.size);
+        int i = this.size++;
+        double key = this.keys[slot];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!(key < this.keys[this.slots[parent]]))
+                break;
+            this.slots[i] = this.slots[parent];
+            i = parent;
+        }
+        this.slots[i] = slot;
+    }
+
+    int pop() {
+        int result = this.slots[0];
+        int last = this.slots[--this.size];
+        if (this.size > 0)
+            this.siftDown(0, last);
+        return result;
+    }
+
+    private void siftDown(int i, int slot) {
+        double key = this.keys[slot];
+        int half = this.size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < this.size && this.keys[this.slots[right]] < this.keys[this.slots[child]])
+                child = right;
+            if (!(this.keys[this.slots[child]] < key))
+                break;
+            this.slots[i] = this.slots[child];
+            i = child;
+        }
+        this.slots[i] = slot;
+    }
+
+}
@@ -0,0 +1,200 @@
+package ch.awae.utils.collection.mutable;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Lock-free bounded single-producer single-consumer queue.
+ *
+ * At most one thread at a time may add elements and at most one (other)
+ * thread at a time may consume them (i.e. call {@link #poll()},
+ * {@link #peek()}, {@link #remove()}, {@link #element()}, {@link #clear()} or
+ * {@link #iterator()}). The elements are stored in a fixed ring buffer. The
+ * producer and consumer indices are padded onto separate cache lines and each
+ * side caches the index of the other side, so in the common case neither side
+ * touches a cache line written by the other one. No atomic read-modify-write
+ * operation is used.
+ *
+ * Elements can only be removed from the head of the queue. Removing arbitrary
+ * elements (through {@link #remove(Object)}, {@link #removeAll},
+ * {@link #retainAll}, {@link #removeIf} or {@link Iterator#remove()}) is not
+ * supported and throws an {@link UnsupportedOperationException}.
+ *
+ * {@link #offer(Object)} returns {@code false} if the queue is full. As
+ * required by {@link java.util.Queue}, {@link #add(Object)} throws an
+ * {@link IllegalStateException} in that case. {@code null} elements are not
+ * permitted.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <E>
+ *            the element type for this queue
+ */
+public final class SpscQueue<E> extends SpscQueueConsumerFields<E> {
+
+    long p30, p31, p32, p33, p34, p35, p36, p37;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpscQueueProducerFields> TAIL = AtomicLongFieldUpdater
+            .newUpdater(SpscQueueProducerFields.class, "tail");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpscQueueConsumerFields> HEAD = AtomicLongFieldUpdater
+            .newUpdater(SpscQueueConsumerFields.class, "head");
+
+    /**
+     * creates a new queue
+     *
+     * @param capacity
+     *            the minimal capacity of the queue. it is rounded up to the
+     *            next power of two.
+     * @throws IllegalArgumentException
+     *             if the capacity is not positive or too large
+     */
+    public SpscQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * the number of elements the queue can hold
+     */
+    public int capacity() {
+        return this.buffer.length;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "no null elements allowed");
+        long tail = this.tail;
+        if (tail - this.headCache >= this.buffer.length) {
+            this.headCache = this.head;
+            if (tail - this.headCache >= this.buffer.length)
+                return false;
+        }
+        this.buffer[(int) tail & this.mask] = e;
+        TAIL.lazySet(this, tail + 1);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long head = this.head;
+        if (head >= this.tailCache) {
+            this.tailCache = this.tail;
+            if (head >= this.tailCache)
+                return null;
+        }
+        int slot = (int) head & this.mask;
+        E item = this.elementAt(slot);
+        this.buffer[slot] = null;
+        HEAD.lazySet(this, head + 1);
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        long head = this.head;
+        if (head >= this.tailCache) {
+            this.tailCache = this.tail;
+            if (head >= this.tailCache)
+                return null;
+        }
+        return this.elementAt((int) head & this.mask);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.head >= this.tail;
+    }
+
+    @Override
+    public int size() {
+        // both indices may advance between the two reads
+        long head = this.head;
+        long tail = this.tail;
+        return (int) Math.max(0, Math.min(tail - head, this.buffer.length));
+    }
+
+    /**
+     * creates a weakly consistent iterator over the elements currently in the
+     * queue. it may only be used by the consumer thread.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            long cursor = SpscQueue.this.head;
+            final long end = SpscQueue.this.tail;
+
+            @Override
+            public boolean hasNext() {
+                return this.cursor < this.end;
+            }
+
+            @Override
+            public E next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                return SpscQueue.this.elementAt((int) this.cursor++ & SpscQueue.this.mask);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int slot) {
+        return (E) this.buffer[slot];
+    }
+
+}
+
+/*
+ * The field layout of the queue is spread over a class hierarchy. The JVM
+ * places the fields of a superclass before those of a subclass, so the padding
+ * fields reliably separate the producer and consumer indices.
+ */
+
+abstract class SpscQueuePad0<E> extends AbstractQueue<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    final Object[] buffer;
+    final int mask;
+
+    SpscQueuePad0(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30))
+            throw new IllegalArgumentException("invalid capacity: " + capacity);
+        int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+}
+
+abstract class SpscQueueProducerFields<E> extends SpscQueuePad0<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    volatile long tail;
+    long headCache;
+
+    SpscQueueProducerFields(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class SpscQueuePad1<E> extends SpscQueueProducerFields<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+
+    SpscQueuePad1(int capacity) {
+        super(capacity);
+    }
+}
+
+abstract class SpscQueueConsumerFields<E> extends SpscQueuePad1<E> {
+    volatile long head;
+    long tailCache;
+
+    SpscQueueConsumerFields(int capacity) {
+        super(capacity);
+    }
+}
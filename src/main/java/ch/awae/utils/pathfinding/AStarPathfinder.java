@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import ch.awae.utils.collection.mutable.PriorityQueue;
+import ch.awae.utils.collection.mutable.PriorityQueue.Backend;
 
 /**
  * Path Finder based on the A-Star algorithm.
@@ -20,16 +21,36 @@ import ch.awae.utils.collection.mutable.PriorityQueue;
 public final class AStarPathfinder<V> implements Pathfinder<V> {
 
     private GraphDataProvider<V> graph;
+    private final Backend backend;
     private long timeout = 0;
 
     public AStarPathfinder(GraphDataProvider<V> graph) {
+        this(graph, Backend.BINARY);
+    }
+
+    /**
+     * Creates a new path finder using the given queue backend.
+     * {@link Backend#RADIX} may only be used if the heuristic is consistent
+     * and all distances are non-negative.
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    public AStarPathfinder(GraphDataProvider<V> graph, Backend backend) {
         this.graph = graph;
+        this.backend = Objects.requireNonNull(backend);
     }
 
     public static <T> AStarPathfinder<T> create(GraphDataProvider<T> graph) {
         return new AStarPathfinder<>(graph);
     }
 
+    /**
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> AStarPathfinder<T> create(GraphDataProvider<T> graph, Backend backend) {
+        return new AStarPathfinder<>(graph, backend);
+    }
+
     @Override
     public void setTimeout(long timeout) {
         this.timeout = timeout;
@@ -49,7 +70,7 @@ public final class AStarPathfinder<V> implements Pathfinder<V> {
 
         Map<V, Double> distances = new HashMap<>();
         Map<V, V> backsteps = new HashMap<>();
-        PriorityQueue<V> queue = PriorityQueue.minQueue();
+        PriorityQueue<V> queue = PriorityQueue.indexedMinQueue(backend);
 
         distances.put(from, Double.valueOf(0.0));
         queue.add(from, 0);
@@ -68,8 +89,6 @@ public final class AStarPathfinder<V> implements Pathfinder<V> {
                 if (!distances.containsKey(neighbour) || distances.get(neighbour) > dist) {
                     distances.put(neighbour, dist);
                     backsteps.put(neighbour, vertex);
-                    if (queue.contains(neighbour))
-                        queue.remove(neighbour);
                     queue.add(neighbour, dist + graph.getHeuristicDistance(neighbour, to));
                 }
             }
@@ -86,7 +105,7 @@ public final class AStarPathfinder<V> implements Pathfinder<V> {
 
         return step == null //
                 ? PathfindingResult.failure(System.currentTimeMillis() - start, steps)
-                : PathfindingResult.success(System.currentTimeMillis() - start, steps, route);
+                : PathfindingResult.success(System.currentTimeMillis() - start, steps, route, distances.get(to));
 
     }
 
@@ -0,0 +1,125 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import ch.awae.utils.functional.T2;
+
+/**
+ * Runs many independent path finding queries concurrently.
+ * 
+ * The queries are processed by a fixed number of worker tasks submitted to an
+ * executor. Every worker obtains its own path finder from a factory and then
+ * claims small chunks of queries until none are left, so workers that happen
+ * to get the cheaper queries simply process more of them. The graph data
+ * itself is shared and must therefore be safe for concurrent reads.
+ * 
+ * Path finders working on a {@link CompactGraph} additionally borrow their
+ * search state from the workspace pool of the worker thread, so a long-lived
+ * executor reuses the same workspaces across batches.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the path finder
+ */
+public final class BatchPathfinder<V> {
+
+    private static final int CHUNK_SIZE = 16;
+
+    private final Supplier<? extends Pathfinder<V>> factory;
+    private final ExecutorService executor;
+    private final int workers;
+
+    /**
+     * Creates a batch path finder running on the common fork-join pool
+     * 
+     * @param factory
+     *            provides a path finder for each worker
+     */
+    public BatchPathfinder(Supplier<? extends Pathfinder<V>> factory) {
+        this(factory, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Creates a batch path finder
+     * 
+     * @param factory
+     *            provides a path finder for each worker
+     * @param executor
+     *            the executor to run the workers on. it is not shut down by
+     *            the batch path finder.
+     * @param workers
+     *            the maximal number of workers per batch
+     * @throws IllegalArgumentException
+     *             if the number of workers is not positive
+     */
+    public BatchPathfinder(Supplier<? extends Pathfinder<V>> factory, ExecutorService executor, int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("at least one worker is required: " + workers);
+        this.factory = Objects.requireNonNull(factory);
+        this.executor = Objects.requireNonNull(executor);
+        this.workers = workers;
+    }
+
+    /**
+     * Runs a batch of queries
+     * 
+     * @param queries
+     *            the queries as pairs of starting and destination vertices
+     * @return the results in the order of the queries
+     * @throws InterruptedException
+     *             if the calling thread is interrupted while waiting for the
+     *             workers
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public BatchResult<V> execute(List<? extends T2<? extends V, ? extends V>> queries) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        Object[] queryArray = queries.toArray();
+        PathfindingResult<V>[] results = new PathfindingResult[queryArray.length];
+        AtomicInteger next = new AtomicInteger();
+        int workerCount = Math.max(1, Math.min(this.workers, (queryArray.length + CHUNK_SIZE - 1) / CHUNK_SIZE));
+
+        List<Future<?>> futures = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            futures.add(this.executor.submit(() -> {
+                Pathfinder<V> pathfinder = this.factory.get();
+                int chunk;
+                while ((chunk = next.getAndAdd(CHUNK_SIZE)) < queryArray.length) {
+                    int end = Math.min(chunk + CHUNK_SIZE, queryArray.length);
+                    for (int i = chunk; i < end; i++) {
+                        T2<? extends V, ? extends V> query = (T2<? extends V, ? extends V>) queryArray[i];
+                        results[i] = pathfinder.execute(query._1, query._2);
+                    }
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures)
+                future.get();
+        } catch (ExecutionException e) {
+            // stop handing out further queries
+            next.set(queryArray.length);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            next.set(queryArray.length);
+            throw e;
+        }
+        return new BatchResult<>(Arrays.asList(results), System.currentTimeMillis() - start);
+    }
+
+}
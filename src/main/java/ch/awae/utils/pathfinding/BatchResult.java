@@ -0,0 +1,76 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * The results of a batch of path finding queries run by a
+ * {@link BatchPathfinder}, in the order of the queries, together with
+ * aggregate statistics.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <T>
+ *            the vertex type
+ */
+@Getter
+public final class BatchResult<T> {
+
+    private final List<PathfindingResult<T>> results;
+    /**
+     * the time in milliseconds from the submission of the batch until all
+     * queries were done
+     */
+    private final long wallTime;
+    /**
+     * the sum of the search times of all queries in milliseconds
+     */
+    private final long totalSearchTime;
+    private final long totalSearchSteps;
+    private final int successCount;
+    private final int failureCount;
+    private final int timeoutCount;
+
+    BatchResult(List<PathfindingResult<T>> results, long wallTime) {
+        this.results = Collections.unmodifiableList(results);
+        this.wallTime = wallTime;
+        long time = 0;
+        long steps = 0;
+        int success = 0;
+        int failure = 0;
+        int timeout = 0;
+        for (PathfindingResult<T> result : results) {
+            time += result.getSearchTime();
+            steps += result.getSearchSteps();
+            if (result.isSuccess())
+                success++;
+            else if (result.isFailure())
+                failure++;
+            else if (result.isTimeout())
+                timeout++;
+        }
+        this.totalSearchTime = time;
+        this.totalSearchSteps = steps;
+        this.successCount = success;
+        this.failureCount = failure;
+        this.timeoutCount = timeout;
+    }
+
+    /**
+     * the number of queries in the batch
+     */
+    public int size() {
+        return this.results.size();
+    }
+
+    /**
+     * the result of the query with the given index
+     */
+    public PathfindingResult<T> get(int index) {
+        return this.results.get(index);
+    }
+
+}
@@ -0,0 +1,155 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import ch.awae.utils.collection.mutable.PriorityQueue;
+
+/**
+ * Path Finder based on the bidirectional A-Star algorithm.
+ * 
+ * Two searches are run simultaneously: a forward search from the starting
+ * vertex and a backward search from the destination. The backward search
+ * follows the edges in reverse, so the graph must support
+ * {@link GraphDataProvider#getReverseNeighbours(Object)}. Both searches use
+ * the average of the forward and the backward heuristic as their potential,
+ * which keeps the potentials consistent with each other. The search ends as
+ * soon as the two frontiers together can not improve on the best path found.
+ * 
+ * The heuristic must be consistent, otherwise the path found may not be the
+ * shortest one.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the path finder
+ */
+public final class BidirectionalAStarPathfinder<V> implements Pathfinder<V> {
+
+    private final GraphDataProvider<V> graph;
+    private long timeout = 0;
+
+    public BidirectionalAStarPathfinder(GraphDataProvider<V> graph) {
+        this.graph = Objects.requireNonNull(graph);
+    }
+
+    public static <T> BidirectionalAStarPathfinder<T> create(GraphDataProvider<T> graph) {
+        return new BidirectionalAStarPathfinder<>(graph);
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * the state of one of the two search directions
+     */
+    private final class Search {
+        final boolean forward;
+        final Map<V, Double> distances = new HashMap<>();
+        final Map<V, V> parents = new HashMap<>();
+        final PriorityQueue<V> queue = PriorityQueue.indexedMinQueue();
+
+        Search(boolean forward) {
+            this.forward = forward;
+        }
+
+        Iterable<V> neighbours(V vertex) {
+            return forward ? graph.getNeighbours(vertex) : graph.getReverseNeighbours(vertex);
+        }
+
+        double distance(V vertex, V neighbour) {
+            return forward ? graph.getDistance(vertex, neighbour) : graph.getDistance(neighbour, vertex);
+        }
+    }
+
+    @Override
+    public PathfindingResult<V> execute(V from, V to) {
+        long start = System.currentTimeMillis();
+        long steps = 0;
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+
+        if (from.equals(to))
+            return PathfindingResult.success(System.currentTimeMillis() - start, steps, new ArrayList<>(), 0);
+
+        // forward potential. the backward potential is its negation
+        Map<V, Double> potentials = new HashMap<>();
+        Search forward = new Search(true);
+        Search backward = new Search(false);
+
+        forward.distances.put(from, 0.0);
+        forward.queue.add(from, potential(potentials, from, from, to));
+        backward.distances.put(to, 0.0);
+        backward.queue.add(to, -potential(potentials, to, from, to));
+
+        double best = Double.POSITIVE_INFINITY;
+        V meeting = null;
+
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()) {
+            if (timeout > 0 && System.currentTimeMillis() > (start + timeout))
+                return PathfindingResult.timeout(System.currentTimeMillis() - start, steps);
+            if (forward.queue.peekPriority() + backward.queue.peekPriority() >= best)
+                break;
+            steps++;
+            // expand the smaller frontier
+            Search search = forward.queue.size() < backward.queue.size() ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            V vertex = search.queue.remove();
+            double distance = search.distances.get(vertex);
+            for (V neighbour : search.neighbours(vertex)) {
+                double dist = distance + search.distance(vertex, neighbour);
+                Double known = search.distances.get(neighbour);
+                if (known == null || known > dist) {
+                    search.distances.put(neighbour, dist);
+                    search.parents.put(neighbour, vertex);
+                    double potential = potential(potentials, neighbour, from, to);
+                    search.queue.add(neighbour, dist + (search.forward ? potential : -potential));
+                    Double remaining = other.distances.get(neighbour);
+                    if (remaining != null && dist + remaining < best) {
+                        best = dist + remaining;
+                        meeting = neighbour;
+                    }
+                }
+            }
+        }
+
+        if (meeting == null)
+            return PathfindingResult.failure(System.currentTimeMillis() - start, steps);
+
+        // extract path: the backward part first, then the forward part
+        List<V> route = new ArrayList<>();
+        for (V step = meeting; step != null; step = backward.parents.get(step))
+            route.add(step);
+        Collections.reverse(route);
+        // the starting vertex is not part of the path
+        if (meeting.equals(from))
+            route.remove(route.size() - 1);
+        for (V step = forward.parents.get(meeting); step != null && !step.equals(from); step = forward.parents
+                .get(step))
+            route.add(step);
+
+        return PathfindingResult.success(System.currentTimeMillis() - start, steps, route, best);
+    }
+
+    private double potential(Map<V, Double> cache, V vertex, V from, V to) {
+        Double potential = cache.get(vertex);
+        if (potential == null) {
+            potential = (graph.getHeuristicDistance(vertex, to) - graph.getHeuristicDistance(from, vertex)) / 2;
+            cache.put(vertex, potential);
+        }
+        return potential;
+    }
+
+}
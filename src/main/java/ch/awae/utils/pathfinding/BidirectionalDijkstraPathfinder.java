@@ -0,0 +1,44 @@
+package ch.awae.utils.pathfinding;
+
+/**
+ * Pathfinder based on the bidirectional Dijkstra algorithm.
+ * 
+ * This algorithm is based of the bidirectional A-Star algorithm and uses a
+ * fixed distance heuristic of {@code 0}. The graph must support
+ * {@link GraphDataProvider#getReverseNeighbours(Object)}.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the pathfinder
+ * @see BidirectionalAStarPathfinder
+ */
+public final class BidirectionalDijkstraPathfinder<V> implements Pathfinder<V> {
+
+    private BidirectionalAStarPathfinder<V> backer;
+
+    public BidirectionalDijkstraPathfinder(GraphDataProvider<V> graph) {
+        backer = new BidirectionalAStarPathfinder<>(graph.withHeuristic((a, b) -> 0.0));
+    }
+
+    public static <T> BidirectionalDijkstraPathfinder<T> create(GraphDataProvider<T> graph) {
+        return new BidirectionalDijkstraPathfinder<>(graph);
+    }
+
+    @Override
+    public PathfindingResult<V> execute(V from, V to) {
+        return backer.execute(from, to);
+    }
+
+    @Override
+    public long getTimeout() {
+        return backer.getTimeout();
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        backer.setTimeout(timeout);
+    }
+
+}
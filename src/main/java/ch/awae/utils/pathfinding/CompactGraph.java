@@ -0,0 +1,242 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiled, immutable representation of a graph.
+ * 
+ * All vertices reachable from a set of root vertices are numbered from
+ * {@code 0} to {@code size() - 1} and all edges are stored in compressed
+ * sparse row form: the outgoing edges of the vertex {@code v} are the indices
+ * {@code offsets[v]} (inclusive) to {@code offsets[v + 1]} (exclusive) of the
+ * {@code targets} and {@code weights} arrays. Path finders operating on a
+ * compact graph therefore do not allocate any iterators or perform any hash
+ * lookups while searching.
+ * 
+ * The graph is a snapshot: later changes to the source graph are not
+ * reflected. Heuristic distances are still provided by the source graph.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the graph
+ */
+public final class CompactGraph<V> {
+
+    private final GraphDataProvider<V> source;
+    private final Object[] vertices;
+    private final Map<V, Integer> indices;
+    final int[] offsets;
+    final int[] targets;
+    final double[] weights;
+
+    private CompactGraph(GraphDataProvider<V> source, Object[] vertices, Map<V, Integer> indices, int[] offsets,
+            int[] targets, double[] weights) {
+        this.source = source;
+        this.vertices = vertices;
+        this.indices = indices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Compiles the part of a graph reachable from a single root vertex
+     * 
+     * @param graph
+     *            the graph to compile
+     * @param root
+     *            the vertex to start discovering the graph from
+     * @return the compiled graph
+     */
+    public static <V> CompactGraph<V> compile(GraphDataProvider<V> graph, V root) {
+        return compile(graph, Collections.singleton(root));
+    }
+
+    /**
+     * Compiles the part of a graph reachable from any of the given root
+     * vertices
+     * 
+     * @param graph
+     *            the graph to compile
+     * @param roots
+     *            the vertices to start discovering the graph from
+     * @return the compiled graph
+     */
+    public static <V> CompactGraph<V> compile(GraphDataProvider<V> graph, Collection<? extends V> roots) {
+        Objects.requireNonNull(graph);
+        Map<V, Integer> indices = new HashMap<>();
+        List<V> vertices = new ArrayList<>();
+        for (V root : roots) {
+            if (!indices.containsKey(Objects.requireNonNull(root))) {
+                indices.put(root, vertices.size());
+                vertices.add(root);
+            }
+        }
+        int[] offsets = new int[16];
+        int[] targets = new int[16];
+        double[] weights = new double[16];
+        int edges = 0;
+        // breadth-first discovery: vertex i is processed when all vertices
+        // before it are done, so its edges are appended in order
+        for (int i = 0; i < vertices.size(); i++) {
+            if (i + 1 >= offsets.length)
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            offsets[i] = edges;
+            V vertex = vertices.get(i);
+            for (V neighbour : graph.getNeighbours(vertex)) {
+                Integer index = indices.get(neighbour);
+                if (index == null) {
+                    index = vertices.size();
+                    indices.put(neighbour, index);
+                    vertices.add(neighbour);
+                }
+                if (edges == targets.length) {
+                    targets = Arrays.copyOf(targets, edges * 2);
+                    weights = Arrays.copyOf(weights, edges * 2);
+                }
+                targets[edges] = index;
+                weights[edges] = graph.getDistance(vertex, neighbour);
+                edges++;
+            }
+        }
+        int size = vertices.size();
+        offsets = Arrays.copyOf(offsets, size + 1);
+        offsets[size] = edges;
+        return new CompactGraph<>(graph, vertices.toArray(), indices, offsets, Arrays.copyOf(targets, edges),
+                Arrays.copyOf(weights, edges));
+    }
+
+    /**
+     * Compiles the part of a vertex graph reachable from a given vertex. The
+     * heuristic distance is the euclidean distance between the spatial
+     * positions of the vertices.
+     * 
+     * @param root
+     *            the vertex to start discovering the graph from
+     * @return the compiled graph
+     */
+    public static <V extends Vertex<V>> CompactGraph<V> compile(V root) {
+        return compile(VertexPathfinder.<V>provider(), root);
+    }
+
+    /**
+     * the number of vertices
+     */
+    public int size() {
+        return this.vertices.length;
+    }
+
+    /**
+     * the number of edges
+     */
+    public int edgeCount() {
+        return this.targets.length;
+    }
+
+    /**
+     * Looks up the index of a vertex
+     * 
+     * @return the index or {@code -1} if the vertex is not part of the graph
+     */
+    public int indexOf(Object vertex) {
+        Integer index = this.indices.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Provides the vertex for an index
+     * 
+     * @throws IndexOutOfBoundsException
+     *             if the index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    public V vertex(int index) {
+        return (V) this.vertices[index];
+    }
+
+    /**
+     * the number of outgoing edges of a vertex
+     */
+    public int degree(int vertex) {
+        return this.offsets[vertex + 1] - this.offsets[vertex];
+    }
+
+    /**
+     * Provides the heuristic distance between two vertices as defined by the
+     * source graph
+     */
+    public double heuristic(int from, int to) {
+        return this.source.getHeuristicDistance(this.vertex(from), this.vertex(to));
+    }
+
+    /**
+     * Creates the graph with all edges reversed. The vertex indices are the
+     * same as in this graph.
+     */
+    CompactGraph<V> reverse() {
+        int size = this.size();
+        int[] offsets = new int[size + 1];
+        for (int target : this.targets)
+            offsets[target + 1]++;
+        for (int v = 0; v < size; v++)
+            offsets[v + 1] += offsets[v];
+        int[] fill = Arrays.copyOf(offsets, size);
+        int[] targets = new int[this.targets.length];
+        double[] weights = new double[this.weights.length];
+        for (int v = 0; v < size; v++) {
+            for (int edge = this.offsets[v]; edge < this.offsets[v + 1]; edge++) {
+                int slot = fill[this.targets[edge]]++;
+                targets[slot] = v;
+                weights[slot] = this.weights[edge];
+            }
+        }
+        return new CompactGraph<>(this.source, this.vertices, this.indices, offsets, targets, weights);
+    }
+
+    /**
+     * Computes the distances from a vertex to all vertices of the graph.
+     * Unreachable vertices have an infinite distance.
+     */
+    double[] distancesFrom(int source) {
+        double[] distances = new double[this.size()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        IntHeap queue = new IntHeap(this.size());
+        distances[source] = 0;
+        queue.update(source, 0);
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            double distance = distances[vertex];
+            for (int edge = this.offsets[vertex]; edge < this.offsets[vertex + 1]; edge++) {
+                int neighbour = this.targets[edge];
+                double dist = distance + this.weights[edge];
+                if (dist < distances[neighbour]) {
+                    distances[neighbour] = dist;
+                    queue.update(neighbour, dist);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Extracts a path from a parent array in the form used by
+     * {@link AStarPathfinder}: starting at the destination and leading back to
+     * (but excluding) the starting vertex.
+     */
+    List<V> route(int[] parents, int from, int to) {
+        List<V> route = new ArrayList<>();
+        for (int step = to; step != from; step = parents[step])
+            route.add(this.vertex(step));
+        return route;
+    }
+
+}
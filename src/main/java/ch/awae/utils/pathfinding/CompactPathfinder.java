@@ -0,0 +1,144 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * Path finder operating on a {@link CompactGraph}.
+ * 
+ * The search runs the A-Star (or, without heuristic, the Dijkstra) algorithm
+ * on the vertex indices of the graph. All search state is held in primitive
+ * arrays indexed by vertex, so no vertex is ever hashed and no distance is
+ * ever boxed.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the path finder
+ */
+public final class CompactPathfinder<V> implements Pathfinder<V> {
+
+    private final CompactGraph<V> graph;
+    private final boolean useHeuristic;
+    private long timeout = 0;
+
+    /**
+     * Creates a new path finder
+     * 
+     * @param graph
+     *            the graph to search
+     * @param useHeuristic
+     *            {@code true} for A-Star using the heuristic of the graph,
+     *            {@code false} for Dijkstra
+     */
+    public CompactPathfinder(CompactGraph<V> graph, boolean useHeuristic) {
+        this.graph = Objects.requireNonNull(graph);
+        this.useHeuristic = useHeuristic;
+    }
+
+    public static <T> CompactPathfinder<T> aStar(CompactGraph<T> graph) {
+        return new CompactPathfinder<>(graph, true);
+    }
+
+    public static <T> CompactPathfinder<T> dijkstra(CompactGraph<T> graph) {
+        return new CompactPathfinder<>(graph, false);
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the starting vertex is not part of the graph
+     */
+    @Override
+    public PathfindingResult<V> execute(V from, V to) {
+        int source = this.graph.indexOf(Objects.requireNonNull(from));
+        int target = this.graph.indexOf(Objects.requireNonNull(to));
+        if (source < 0)
+            throw new IllegalArgumentException("starting vertex is not part of the graph: " + from);
+        if (target < 0)
+            return PathfindingResult.failure(0, 0);
+        return this.executeByIndex(source, target);
+    }
+
+    /**
+     * Finds a path between two vertices given by their index in the graph. The
+     * search state is borrowed from the workspace pool of the current thread.
+     * 
+     * @param from
+     *            the index of the starting vertex
+     * @param to
+     *            the index of the destination vertex
+     */
+    public PathfindingResult<V> executeByIndex(int from, int to) {
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(this.graph.size())) {
+            return this.executeByIndex(from, to, workspace);
+        }
+    }
+
+    /**
+     * Finds a path between two vertices given by their index in the graph
+     * 
+     * @param from
+     *            the index of the starting vertex
+     * @param to
+     *            the index of the destination vertex
+     * @param workspace
+     *            the workspace to hold the search state. it is reset before
+     *            the search.
+     * @throws IllegalArgumentException
+     *             if the workspace is too small for the graph
+     */
+    public PathfindingResult<V> executeByIndex(int from, int to, SearchWorkspace workspace) {
+        long start = System.currentTimeMillis();
+        long steps = 0;
+        CompactGraph<V> graph = this.graph;
+        if (workspace.capacity() < graph.size())
+            throw new IllegalArgumentException("workspace too small: " + workspace.capacity());
+        workspace.reset();
+        IntHeap queue = workspace.queue;
+
+        workspace.reach(from, 0, from);
+        queue.update(from, 0);
+
+        while (!queue.isEmpty()) {
+            if (this.timeout > 0 && System.currentTimeMillis() > (start + this.timeout))
+                return PathfindingResult.timeout(System.currentTimeMillis() - start, steps);
+            steps++;
+            int vertex = queue.poll();
+            if (vertex == to)
+                break;
+            double distance = workspace.distance(vertex);
+            for (int edge = graph.offsets[vertex], end = graph.offsets[vertex + 1]; edge < end; edge++) {
+                int neighbour = graph.targets[edge];
+                double dist = distance + graph.weights[edge];
+                if (dist < workspace.distance(neighbour)) {
+                    workspace.reach(neighbour, dist, vertex);
+                    double h = 0;
+                    if (this.useHeuristic) {
+                        h = workspace.heuristic(neighbour);
+                        if (h != h) {
+                            h = graph.heuristic(neighbour, to);
+                            workspace.cacheHeuristic(neighbour, h);
+                        }
+                    }
+                    queue.update(neighbour, dist + h);
+                }
+            }
+        }
+
+        if (!workspace.isReached(to))
+            return PathfindingResult.failure(System.currentTimeMillis() - start, steps);
+        return PathfindingResult.success(System.currentTimeMillis() - start, steps,
+                graph.route(workspace.parents(), from, to), workspace.distance(to));
+    }
+
+}
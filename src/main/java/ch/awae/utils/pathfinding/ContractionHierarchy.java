@@ -0,0 +1,474 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Path finder based on contraction hierarchies.
+ *
+ * During preprocessing the vertices of a {@link CompactGraph} are contracted
+ * one by one in order of increasing importance. Whenever the contraction of a
+ * vertex would destroy a shortest path between two of its neighbours, a
+ * shortcut edge is added. Queries then run a bidirectional Dijkstra search
+ * that only ever follows edges towards more important vertices, which settles
+ * a tiny fraction of the graph. Shortcuts are unpacked into the original
+ * vertices before the result is returned.
+ *
+ * Preprocessing is expensive, so contraction hierarchies are only worthwhile
+ * for static graphs that are queried many times. The graph must not contain
+ * negative distances. Heuristic distances are not used.
+ *
+ * Instances are immutable after construction and can be queried from multiple
+ * threads concurrently.
+ *
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the path finder
+ */
+public final class ContractionHierarchy<V> implements Pathfinder<V> {
+
+    // maximum number of vertices settled by a single witness search
+    private static final int WITNESS_LIMIT = 500;
+
+    private final CompactGraph<V> graph;
+    private final int[] ranks;
+    // upward edges in search direction, each with the vertex it bypasses or
+    // -1 for original edges
+    private final int[] forwardOffsets, forwardTargets, forwardMiddles;
+    private final double[] forwardWeights;
+    private final int[] backwardOffsets, backwardTargets, backwardMiddles;
+    private final double[] backwardWeights;
+
+    /**
+     * Preprocesses a graph
+     *
+     * @param graph
+     *            the graph to preprocess
+     * @return the contraction hierarchy for the graph
+     */
+    public static <T> ContractionHierarchy<T> build(CompactGraph<T> graph) {
+        return new ContractionHierarchy<>(graph);
+    }
+
+    /**
+     * Compiles and preprocesses the part of a graph reachable from the given
+     * root vertices
+     *
+     * @param graph
+     *            the graph to preprocess
+     * @param roots
+     *            the vertices to start discovering the graph from
+     * @return the contraction hierarchy for the graph
+     */
+    public static <T> ContractionHierarchy<T> build(GraphDataProvider<T> graph, Collection<? extends T> roots) {
+        return new ContractionHierarchy<>(CompactGraph.compile(graph, roots));
+    }
+
+    private ContractionHierarchy(CompactGraph<V> graph) {
+        this.graph = Objects.requireNonNull(graph);
+        Contractor contractor = new Contractor(graph);
+        contractor.contractAll();
+        this.ranks = contractor.ranks;
+
+        int size = graph.size();
+        Edges[] forward = new Edges[size];
+        Edges[] backward = new Edges[size];
+        for (int v = 0; v < size; v++) {
+            forward[v] = contractor.out[v].upward(ranks, ranks[v]);
+            backward[v] = contractor.in[v].upward(ranks, ranks[v]);
+        }
+        this.forwardOffsets = offsets(forward);
+        this.forwardTargets = new int[forwardOffsets[size]];
+        this.forwardMiddles = new int[forwardOffsets[size]];
+        this.forwardWeights = new double[forwardOffsets[size]];
+        flatten(forward, forwardOffsets, forwardTargets, forwardWeights, forwardMiddles);
+        this.backwardOffsets = offsets(backward);
+        this.backwardTargets = new int[backwardOffsets[size]];
+        this.backwardMiddles = new int[backwardOffsets[size]];
+        this.backwardWeights = new double[backwardOffsets[size]];
+        flatten(backward, backwardOffsets, backwardTargets, backwardWeights, backwardMiddles);
+    }
+
+    /**
+     * the graph this hierarchy has been built for
+     */
+    public CompactGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * the number of shortcut edges added during preprocessing
+     */
+    public int shortcutCount() {
+        int count = 0;
+        for (int middle : forwardMiddles)
+            if (middle >= 0)
+                count++;
+        for (int middle : backwardMiddles)
+            if (middle >= 0)
+                count++;
+        return count;
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the starting vertex is not part of the graph
+     */
+    @Override
+    public PathfindingResult<V> execute(V from, V to) {
+        int source = graph.indexOf(Objects.requireNonNull(from));
+        int target = graph.indexOf(Objects.requireNonNull(to));
+        if (source < 0)
+            throw new IllegalArgumentException("starting vertex is not part of the graph: " + from);
+        if (target < 0)
+            return PathfindingResult.failure(0, 0);
+        return executeByIndex(source, target);
+    }
+
+    /**
+     * Finds a path between two vertices given by their index in the graph
+     *
+     * @param from
+     *            the index of the starting vertex
+     * @param to
+     *            the index of the destination vertex
+     */
+    public PathfindingResult<V> executeByIndex(int from, int to) {
+        long start = System.currentTimeMillis();
+        long steps = 0;
+        int size = graph.size();
+        try (SearchWorkspace forward = SearchWorkspace.acquire(size);
+                SearchWorkspace backward = SearchWorkspace.acquire(size)) {
+            forward.reach(from, 0, from);
+            forward.queue.update(from, 0);
+            backward.reach(to, 0, to);
+            backward.queue.update(to, 0);
+
+            double best = from == to ? 0 : Double.POSITIVE_INFINITY;
+            int meeting = from == to ? from : -1;
+
+            while (true) {
+                boolean forwardOpen = !forward.queue.isEmpty() && forward.queue.peekKey() < best;
+                boolean backwardOpen = !backward.queue.isEmpty() && backward.queue.peekKey() < best;
+                if (!forwardOpen && !backwardOpen)
+                    break;
+                boolean isForward = forwardOpen
+                        && (!backwardOpen || forward.queue.peekKey() <= backward.queue.peekKey());
+                SearchWorkspace search = isForward ? forward : backward;
+                SearchWorkspace other = isForward ? backward : forward;
+                int[] offsets = isForward ? forwardOffsets : backwardOffsets;
+                int[] targets = isForward ? forwardTargets : backwardTargets;
+                double[] weights = isForward ? forwardWeights : backwardWeights;
+
+                steps++;
+                int vertex = search.queue.poll();
+                double distance = search.distance(vertex);
+                if (other.isReached(vertex) && distance + other.distance(vertex) < best) {
+                    best = distance + other.distance(vertex);
+                    meeting = vertex;
+                }
+                for (int edge = offsets[vertex], end = offsets[vertex + 1]; edge < end; edge++) {
+                    int neighbour = targets[edge];
+                    double dist = distance + weights[edge];
+                    if (dist < search.distance(neighbour)) {
+                        search.reach(neighbour, dist, vertex);
+                        search.queue.update(neighbour, dist);
+                    }
+                }
+            }
+
+            if (meeting < 0)
+                return PathfindingResult.failure(System.currentTimeMillis() - start, steps);
+
+            // the upward path from the start to the meeting vertex, then down
+            // to the destination. each hop is an edge in graph direction.
+            IntBuffer hops = new IntBuffer();
+            for (int step = meeting; step != from; step = forward.parent(step))
+                hops.add(step);
+            hops.add(from);
+            hops.reverse();
+            for (int step = meeting; step != to;) {
+                step = backward.parent(step);
+                hops.add(step);
+            }
+
+            IntBuffer path = new IntBuffer();
+            for (int i = 1; i < hops.size; i++)
+                unpack(hops.values[i - 1], hops.values[i], path);
+
+            List<V> route = new ArrayList<>(path.size);
+            for (int i = path.size - 1; i >= 0; i--)
+                route.add(graph.vertex(path.values[i]));
+            return PathfindingResult.success(System.currentTimeMillis() - start, steps, route, best);
+        }
+    }
+
+    /**
+     * appends the original vertices on the edge {@code from -> to} (excluding
+     * {@code from}) to the path.
+     */
+    private void unpack(int from, int to, IntBuffer path) {
+        IntBuffer stack = new IntBuffer();
+        stack.add(to);
+        stack.add(from);
+        while (stack.size > 0) {
+            int a = stack.values[--stack.size];
+            int b = stack.values[--stack.size];
+            int middle = middle(a, b);
+            if (middle < 0) {
+                path.add(b);
+            } else {
+                // process a -> middle first, then middle -> b
+                stack.add(b);
+                stack.add(middle);
+                stack.add(middle);
+                stack.add(a);
+            }
+        }
+    }
+
+    private int middle(int from, int to) {
+        if (ranks[from] < ranks[to]) {
+            for (int edge = forwardOffsets[from]; edge < forwardOffsets[from + 1]; edge++)
+                if (forwardTargets[edge] == to)
+                    return forwardMiddles[edge];
+        } else {
+            for (int edge = backwardOffsets[to]; edge < backwardOffsets[to + 1]; edge++)
+                if (backwardTargets[edge] == from)
+                    return backwardMiddles[edge];
+        }
+        throw new IllegalStateException("missing edge " + from + " -> " + to);
+    }
+
+    private static int[] offsets(Edges[] edges) {
+        int[] offsets = new int[edges.length + 1];
+        for (int v = 0; v < edges.length; v++)
+            offsets[v + 1] = offsets[v] + edges[v].size;
+        return offsets;
+    }
+
+    private static void flatten(Edges[] edges, int[] offsets, int[] targets, double[] weights, int[] middles) {
+        for (int v = 0; v < edges.length; v++) {
+            Edges e = edges[v];
+            System.arraycopy(e.targets, 0, targets, offsets[v], e.size);
+            System.arraycopy(e.weights, 0, weights, offsets[v], e.size);
+            System.arraycopy(e.middles, 0, middles, offsets[v], e.size);
+        }
+    }
+
+    // #### PREPROCESSING ####
+
+    /**
+     * growable list of edges. parallel edges are merged, keeping the shortest.
+     */
+    private static final class Edges {
+        int[] targets = new int[4];
+        double[] weights = new double[4];
+        int[] middles = new int[4];
+        int size = 0;
+
+        /**
+         * adds an edge or shortens an existing one
+         */
+        void add(int target, double weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (targets[i] == target) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        /**
+         * copies all edges to vertices ranked above the given rank
+         */
+        Edges upward(int[] ranks, int rank) {
+            Edges result = new Edges();
+            for (int i = 0; i < size; i++)
+                if (ranks[targets[i]] > rank)
+                    result.add(targets[i], weights[i], middles[i]);
+            return result;
+        }
+    }
+
+    private static final class IntBuffer {
+        int[] values = new int[16];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void reverse() {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+        }
+    }
+
+    private static final class Contractor {
+
+        final int size;
+        final Edges[] out;
+        final Edges[] in;
+        final boolean[] contracted;
+        final int[] deletedNeighbours;
+        final int[] ranks;
+
+        Contractor(CompactGraph<?> graph) {
+            size = graph.size();
+            out = new Edges[size];
+            in = new Edges[size];
+            for (int v = 0; v < size; v++) {
+                out[v] = new Edges();
+                in[v] = new Edges();
+            }
+            for (int v = 0; v < size; v++) {
+                for (int edge = graph.offsets[v]; edge < graph.offsets[v + 1]; edge++) {
+                    int target = graph.targets[edge];
+                    if (target == v)
+                        continue;
+                    double weight = graph.weights[edge];
+                    if (weight < 0)
+                        throw new IllegalArgumentException("negative distance: " + weight);
+                    out[v].add(target, weight, -1);
+                    in[target].add(v, weight, -1);
+                }
+            }
+            contracted = new boolean[size];
+            deletedNeighbours = new int[size];
+            ranks = new int[size];
+        }
+
+        void contractAll() {
+            // the initial ordering is independent for every vertex
+            double[] priorities = new double[size];
+            ThreadLocal<SearchWorkspace> workspaces = ThreadLocal.withInitial(() -> new SearchWorkspace(size));
+            IntStream.range(0, size).parallel().forEach(v -> priorities[v] = priority(v, workspaces.get()));
+            IntHeap queue = new IntHeap(size);
+            for (int v = 0; v < size; v++)
+                queue.update(v, priorities[v]);
+
+            SearchWorkspace workspace = new SearchWorkspace(size);
+            int rank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                // lazy update: the priority may have changed since it was
+                // computed
+                double priority = priority(v, workspace);
+                if (!queue.isEmpty() && priority > queue.peekKey()) {
+                    queue.update(v, priority);
+                    continue;
+                }
+                contract(v, workspace, true);
+                contracted[v] = true;
+                ranks[v] = rank++;
+                for (int i = 0; i < out[v].size; i++)
+                    if (!contracted[out[v].targets[i]])
+                        deletedNeighbours[out[v].targets[i]]++;
+                for (int i = 0; i < in[v].size; i++)
+                    if (!contracted[in[v].targets[i]])
+                        deletedNeighbours[in[v].targets[i]]++;
+            }
+        }
+
+        private double priority(int v, SearchWorkspace workspace) {
+            int degree = 0;
+            for (int i = 0; i < out[v].size; i++)
+                if (!contracted[out[v].targets[i]])
+                    degree++;
+            for (int i = 0; i < in[v].size; i++)
+                if (!contracted[in[v].targets[i]])
+                    degree++;
+            int shortcuts = contract(v, workspace, false);
+            return shortcuts - degree + deletedNeighbours[v];
+        }
+
+        /**
+         * determines the shortcuts required to contract a vertex and adds them
+         * if requested.
+         *
+         * @return the number of shortcuts required
+         */
+        private int contract(int v, SearchWorkspace workspace, boolean apply) {
+            Edges outgoing = out[v];
+            Edges incoming = in[v];
+            double maxOut = 0;
+            for (int i = 0; i < outgoing.size; i++)
+                if (!contracted[outgoing.targets[i]])
+                    maxOut = Math.max(maxOut, outgoing.weights[i]);
+            int shortcuts = 0;
+            for (int i = 0; i < incoming.size; i++) {
+                int u = incoming.targets[i];
+                if (contracted[u])
+                    continue;
+                double w1 = incoming.weights[i];
+                witnessSearch(u, v, w1 + maxOut, workspace);
+                for (int j = 0; j < outgoing.size; j++) {
+                    int x = outgoing.targets[j];
+                    if (contracted[x] || x == u)
+                        continue;
+                    double weight = w1 + outgoing.weights[j];
+                    if (workspace.distance(x) <= weight)
+                        continue;
+                    shortcuts++;
+                    if (apply) {
+                        out[u].add(x, weight, v);
+                        in[x].add(u, weight, v);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * bounded dijkstra search from {@code source} avoiding {@code skip}
+         */
+        private void witnessSearch(int source, int skip, double limit, SearchWorkspace workspace) {
+            workspace.reset();
+            IntHeap queue = workspace.queue;
+            workspace.reach(source, 0, source);
+            queue.update(source, 0);
+            int settled = 0;
+            while (!queue.isEmpty() && queue.peekKey() <= limit && settled++ < WITNESS_LIMIT) {
+                int vertex = queue.poll();
+                double distance = workspace.distance(vertex);
+                Edges edges = out[vertex];
+                for (int i = 0; i < edges.size; i++) {
+                    int neighbour = edges.targets[i];
+                    if (neighbour == skip || contracted[neighbour])
+                        continue;
+                    double dist = distance + edges.weights[i];
+                    if (dist < workspace.distance(neighbour)) {
+                        workspace.reach(neighbour, dist, vertex);
+                        queue.update(neighbour, dist);
+                    }
+                }
+            }
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package ch.awae.utils.pathfinding;
 
+import ch.awae.utils.collection.mutable.PriorityQueue.Backend;
+
 /**
  * Pathfinder based on the Dijkstra algorithm.
  * 
@@ -18,13 +20,30 @@ public final class DijkstraPathfinder<V> implements Pathfinder<V> {
     private AStarPathfinder<V> backer;
 
     public DijkstraPathfinder(GraphDataProvider<V> graph) {
-        backer = new AStarPathfinder<>(graph.withHeuristic((a, b) -> 0.0));
+        this(graph, Backend.BINARY);
+    }
+
+    /**
+     * Creates a new path finder using the given queue backend. For graphs
+     * with non-negative distances {@link Backend#RADIX} is usually fastest.
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    public DijkstraPathfinder(GraphDataProvider<V> graph, Backend backend) {
+        backer = new AStarPathfinder<>(graph.withHeuristic((a, b) -> 0.0), backend);
     }
 
     public static <T> DijkstraPathfinder<T> create(GraphDataProvider<T> graph) {
         return new DijkstraPathfinder<>(graph);
     }
 
+    /**
+     * @since awaeUtils 2.2.0
+     */
+    public static <T> DijkstraPathfinder<T> create(GraphDataProvider<T> graph, Backend backend) {
+        return new DijkstraPathfinder<>(graph, backend);
+    }
+
     @Override
     public PathfindingResult<V> execute(V from, V to) {
         return backer.execute(from, to);
@@ -0,0 +1,83 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dense matrix of shortest distances between a list of source vertices and a
+ * list of target vertices, as computed by a {@link MatrixPathfinder}.
+ * 
+ * Unreachable targets have an infinite distance. If paths have been requested
+ * they are provided in the same form as by {@link PathfindingResult#getPath()}.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type
+ */
+public final class DistanceMatrix<V> {
+
+    private final List<V> sources;
+    private final List<V> targets;
+    private final double[][] distances;
+    private final List<V>[][] paths;
+
+    DistanceMatrix(List<V> sources, List<V> targets, double[][] distances, List<V>[][] paths) {
+        this.sources = Collections.unmodifiableList(sources);
+        this.targets = Collections.unmodifiableList(targets);
+        this.distances = distances;
+        this.paths = paths;
+    }
+
+    /**
+     * the source vertices, one per row
+     */
+    public List<V> getSources() {
+        return this.sources;
+    }
+
+    /**
+     * the target vertices, one per column
+     */
+    public List<V> getTargets() {
+        return this.targets;
+    }
+
+    /**
+     * the distance from the source in the given row to the target in the given
+     * column
+     */
+    public double getDistance(int row, int column) {
+        return this.distances[row][column];
+    }
+
+    /**
+     * Provides the raw distance matrix, indexed by row (source) and column
+     * (target). The array is not copied and must not be modified.
+     */
+    public double[][] getDistances() {
+        return this.distances;
+    }
+
+    /**
+     * checks if the paths have been computed
+     */
+    public boolean hasPaths() {
+        return this.paths != null;
+    }
+
+    /**
+     * the path from the source in the given row to the target in the given
+     * column, or {@code null} if the target is not reachable
+     * 
+     * @throws IllegalStateException
+     *             if the paths have not been computed
+     */
+    public List<V> getPath(int row, int column) {
+        if (this.paths == null)
+            throw new IllegalStateException("paths have not been computed");
+        return this.paths[row][column];
+    }
+
+}
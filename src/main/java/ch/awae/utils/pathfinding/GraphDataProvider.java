@@ -10,6 +10,19 @@ public interface GraphDataProvider<T> {
      */
     Iterable<T> getNeighbours(T vertex);
 
+    /**
+     * Looks up and provides the vertices from which the given vertex is
+     * directly reachable. This is required by bidirectional path finders only.
+     * 
+     * By default reverse lookups are not supported and an
+     * {@link UnsupportedOperationException} is thrown.
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    default Iterable<T> getReverseNeighbours(T vertex) {
+        throw new UnsupportedOperationException("reverse neighbours not supported");
+    }
+
     /**
      * Provides the distance between two vertices. If they are neighbours, this
      * must provide the exact distance. Otherwise a heuristic distance is
@@ -41,6 +54,11 @@ public interface GraphDataProvider<T> {
                 return self.getNeighbours(vertex);
             }
 
+            @Override
+            public Iterable<T> getReverseNeighbours(T vertex) {
+                return self.getReverseNeighbours(vertex);
+            }
+
             @Override
             public double getDistance(T from, T to) {
                 return self.getDistance(from, to);
@@ -66,6 +84,11 @@ public interface GraphDataProvider<T> {
                 return self.getNeighbours(vertex);
             }
 
+            @Override
+            public Iterable<T> getReverseNeighbours(T vertex) {
+                return self.getReverseNeighbours(vertex);
+            }
+
             @Override
             public double getDistance(T from, T to) {
                 return distance.apply(from, to);
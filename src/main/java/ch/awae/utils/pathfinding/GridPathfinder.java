@@ -0,0 +1,256 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Path finder for uniform-cost 2D occupancy grids using Jump Point Search.
+ * 
+ * Cells are given as {@code int[] {x, y}}. Every free cell is connected to its
+ * free orthogonal neighbours at cost 1 and to its free diagonal neighbours at
+ * cost {@code sqrt(2)}. A diagonal move is only allowed if both orthogonal
+ * cells it passes are free, so paths never cut corners.
+ * 
+ * Instead of expanding every cell like {@link AStarPathfinder}, the search
+ * jumps along straight and diagonal lines and only queues cells where the
+ * optimal path may change direction. Since all the many symmetric paths of
+ * equal length through open areas are pruned, far fewer cells are expanded.
+ * The blocked cells are held in a packed bitset, the search state in a
+ * {@link SearchWorkspace} borrowed from the pool of the current thread.
+ * 
+ * The grid may be modified between searches, but not during a search.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+public final class GridPathfinder implements Pathfinder<int[]> {
+
+    private static final double SQRT2 = Math.sqrt(2);
+
+    private final int width;
+    private final int height;
+    private final long[] blocked;
+    private long timeout = 0;
+
+    /**
+     * Creates a new path finder for a grid without any blocked cells
+     * 
+     * @param width
+     *            the number of columns
+     * @param height
+     *            the number of rows
+     * @throws IllegalArgumentException
+     *             if a dimension is not positive or the grid is too large
+     */
+    public GridPathfinder(int width, int height) {
+        if (width < 1 || height < 1)
+            throw new IllegalArgumentException("invalid grid dimensions: " + width + "x" + height);
+        if ((long) width * height > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("grid too large: " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+        this.blocked = new long[(width * height + 63) >>> 6];
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Indicates if a cell is blocked. Cells outside the grid are always
+     * blocked.
+     */
+    public boolean isBlocked(int x, int y) {
+        return !this.isFree(x, y);
+    }
+
+    /**
+     * Blocks or frees a cell
+     * 
+     * @throws IndexOutOfBoundsException
+     *             if the cell is outside the grid
+     */
+    public void setBlocked(int x, int y, boolean blocked) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height)
+            throw new IndexOutOfBoundsException("cell out of bounds: " + x + "," + y);
+        int index = y * this.width + x;
+        if (blocked)
+            this.blocked[index >>> 6] |= 1L << index;
+        else
+            this.blocked[index >>> 6] &= ~(1L << index);
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * The search fails if the starting or the destination cell is blocked.
+     * 
+     * @throws IllegalArgumentException
+     *             if the starting cell is outside the grid
+     */
+    @Override
+    public PathfindingResult<int[]> execute(int[] from, int[] to) {
+        int fromX = from[0];
+        int fromY = from[1];
+        if (fromX < 0 || fromY < 0 || fromX >= this.width || fromY >= this.height)
+            throw new IllegalArgumentException("starting cell is outside the grid: " + fromX + "," + fromY);
+        if (!this.isFree(fromX, fromY) || !this.isFree(to[0], to[1]))
+            return PathfindingResult.failure(0, 0);
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(this.width * this.height)) {
+            return this.search(fromY * this.width + fromX, to[1] * this.width + to[0], workspace);
+        }
+    }
+
+    private PathfindingResult<int[]> search(int from, int to, SearchWorkspace workspace) {
+        long start = System.currentTimeMillis();
+        long steps = 0;
+        int width = this.width;
+        int targetX = to % width;
+        int targetY = to / width;
+        workspace.reset();
+        IntHeap queue = workspace.queue;
+
+        workspace.reach(from, 0, from);
+        queue.update(from, 0);
+
+        while (!queue.isEmpty()) {
+            if (this.timeout > 0 && System.currentTimeMillis() > (start + this.timeout))
+                return PathfindingResult.timeout(System.currentTimeMillis() - start, steps);
+            steps++;
+            int cell = queue.poll();
+            if (cell == to)
+                break;
+            int x = cell % width;
+            int y = cell / width;
+            double distance = workspace.distance(cell);
+            int parent = workspace.parent(cell);
+            if (parent == cell) {
+                // the starting cell: no pruning
+                for (int dx = -1; dx <= 1; dx++)
+                    for (int dy = -1; dy <= 1; dy++)
+                        if (dx != 0 || dy != 0)
+                            this.relax(workspace, cell, x, y, dx, dy, distance, targetX, targetY);
+            } else {
+                int dx = Integer.signum(x - parent % width);
+                int dy = Integer.signum(y - parent / width);
+                if (dx != 0 && dy != 0) {
+                    this.relax(workspace, cell, x, y, dx, 0, distance, targetX, targetY);
+                    this.relax(workspace, cell, x, y, 0, dy, distance, targetX, targetY);
+                    this.relax(workspace, cell, x, y, dx, dy, distance, targetX, targetY);
+                } else {
+                    // straight moves may turn wherever the side is open
+                    int sx = dy;
+                    int sy = dx;
+                    this.relax(workspace, cell, x, y, dx, dy, distance, targetX, targetY);
+                    this.relax(workspace, cell, x, y, dx + sx, dy + sy, distance, targetX, targetY);
+                    this.relax(workspace, cell, x, y, dx - sx, dy - sy, distance, targetX, targetY);
+                    this.relax(workspace, cell, x, y, sx, sy, distance, targetX, targetY);
+                    this.relax(workspace, cell, x, y, -sx, -sy, distance, targetX, targetY);
+                }
+            }
+        }
+
+        if (!workspace.isReached(to))
+            return PathfindingResult.failure(System.currentTimeMillis() - start, steps);
+        return PathfindingResult.success(System.currentTimeMillis() - start, steps, this.route(workspace, from, to),
+                workspace.distance(to));
+    }
+
+    /**
+     * jumps from a cell in the given direction and queues the jump point found
+     */
+    private void relax(SearchWorkspace workspace, int cell, int x, int y, int dx, int dy, double distance,
+            int targetX, int targetY) {
+        int jumpPoint = this.jump(x, y, dx, dy, targetX, targetY);
+        if (jumpPoint < 0)
+            return;
+        int jx = jumpPoint % this.width;
+        int jy = jumpPoint / this.width;
+        double dist = distance + octile(jx - x, jy - y);
+        if (dist < workspace.distance(jumpPoint)) {
+            workspace.reach(jumpPoint, dist, cell);
+            workspace.queue.update(jumpPoint, dist + octile(targetX - jx, targetY - jy));
+        }
+    }
+
+    /**
+     * walks from a cell in the given direction until a jump point is found
+     * 
+     * @return the index of the jump point or {@code -1} if there is none
+     */
+    private int jump(int x, int y, int dx, int dy, int targetX, int targetY) {
+        boolean diagonal = dx != 0 && dy != 0;
+        while (true) {
+            if (!this.isFree(x + dx, y + dy))
+                return -1;
+            if (diagonal && !(this.isFree(x + dx, y) && this.isFree(x, y + dy)))
+                return -1;
+            x += dx;
+            y += dy;
+            if (x == targetX && y == targetY)
+                return y * this.width + x;
+            if (diagonal) {
+                if (this.jump(x, y, dx, 0, targetX, targetY) >= 0 || this.jump(x, y, 0, dy, targetX, targetY) >= 0)
+                    return y * this.width + x;
+            } else if (dx != 0) {
+                if ((this.isFree(x, y - 1) && !this.isFree(x - dx, y - 1))
+                        || (this.isFree(x, y + 1) && !this.isFree(x - dx, y + 1)))
+                    return y * this.width + x;
+            } else {
+                if ((this.isFree(x - 1, y) && !this.isFree(x - 1, y - dy))
+                        || (this.isFree(x + 1, y) && !this.isFree(x + 1, y - dy)))
+                    return y * this.width + x;
+            }
+        }
+    }
+
+    /**
+     * expands the chain of jump points into the full list of cells, starting
+     * at the destination
+     */
+    private List<int[]> route(SearchWorkspace workspace, int from, int to) {
+        List<int[]> route = new ArrayList<>();
+        int width = this.width;
+        for (int cell = to; cell != from;) {
+            int parent = workspace.parent(cell);
+            int x = cell % width;
+            int y = cell / width;
+            int dx = Integer.signum(parent % width - x);
+            int dy = Integer.signum(parent / width - y);
+            for (int step = cell; step != parent; step += dy * width + dx, x += dx, y += dy)
+                route.add(new int[] { x, y });
+            cell = parent;
+        }
+        return route;
+    }
+
+    private boolean isFree(int x, int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height)
+            return false;
+        int index = y * this.width + x;
+        return (this.blocked[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * the length of the shortest path between two cells on an empty grid
+     */
+    private static double octile(int dx, int dy) {
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+        return Math.max(dx, dy) + (SQRT2 - 1) * Math.min(dx, dy);
+    }
+
+}
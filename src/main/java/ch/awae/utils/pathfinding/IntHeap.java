@@ -0,0 +1,133 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap over the vertex indices of a {@link CompactGraph}.
+ * 
+ * Every vertex is contained at most once. Its position in the heap is tracked,
+ * so the key of a contained vertex can be decreased in place.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+final class IntHeap {
+
+    private final int[] heap;
+    private final double[] keys;
+    // heap position per vertex, -1 if the vertex is not contained
+    private final int[] positions;
+    private int size = 0;
+
+    IntHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.keys = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    boolean contains(int vertex) {
+        return this.positions[vertex] >= 0;
+    }
+
+    /**
+     * removes all vertices. runs in time linear to the size of the heap, not
+     * to its capacity.
+     */
+    void clear() {
+        for (int i = 0; i < this.size; i++)
+            this.positions[this.heap[i]] = -1;
+        this.size = 0;
+    }
+
+    /**
+     * adds a vertex or changes the key of a contained vertex
+     */
+    void update(int vertex, double key) {
+        int position = this.positions[vertex];
+        if (position < 0) {
+            position = this.size++;
+            this.heap[position] = vertex;
+            this.keys[position] = key;
+            this.positions[vertex] = position;
+            this.siftUp(position);
+        } else if (key < this.keys[position]) {
+            this.keys[position] = key;
+            this.siftUp(position);
+        } else {
+            this.keys[position] = key;
+            this.siftDown(position);
+        }
+    }
+
+    double peekKey() {
+        return this.keys[0];
+    }
+
+    int peek() {
+        return this.heap[0];
+    }
+
+    int poll() {
+        int vertex = this.heap[0];
+        this.positions[vertex] = -1;
+        int last = --this.size;
+        if (last > 0) {
+            this.heap[0] = this.heap[last];
+            this.keys[0] = this.keys[last];
+            this.positions[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+        return vertex;
+    }
+
+    private void siftUp(int position) {
+        int vertex = this.heap[position];
+        double key = this.keys[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (this.keys[parent] <= key)
+                break;
+            this.move(parent, position);
+            position = parent;
+        }
+        this.place(vertex, key, position);
+    }
+
+    private void siftDown(int position) {
+        int vertex = this.heap[position];
+        double key = this.keys[position];
+        int half = this.size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < this.size && this.keys[child + 1] < this.keys[child])
+                child++;
+            if (key <= this.keys[child])
+                break;
+            this.move(child, position);
+            position = child;
+        }
+        this.place(vertex, key, position);
+    }
+
+    private void move(int from, int to) {
+        this.heap[to] = this.heap[from];
+        this.keys[to] = this.keys[from];
+        this.positions[this.heap[to]] = to;
+    }
+
+    private void place(int vertex, double key, int position) {
+        this.heap[position] = vertex;
+        this.keys[position] = key;
+        this.positions[vertex] = position;
+    }
+
+}
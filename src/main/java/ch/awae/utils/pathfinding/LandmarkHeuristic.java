@@ -0,0 +1,191 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import ch.awae.utils.functional.Function2;
+
+/**
+ * Heuristic based on landmarks and the triangle inequality (ALT).
+ * 
+ * For a few landmark vertices the exact distances from and to every other
+ * vertex are precomputed. For any landmark {@code L} the triangle inequality
+ * yields the lower bounds {@code d(L,t) - d(L,v)} and {@code d(v,L) - d(t,L)}
+ * for the distance from {@code v} to {@code t}. The heuristic is the largest
+ * of these bounds. It is admissible and consistent and does not require any
+ * spatial information about the vertices.
+ * 
+ * The heuristic can be used with any heuristic-based path finder through
+ * {@link GraphDataProvider#withHeuristic(Function2)}:
+ * 
+ * <pre>
+ * CompactGraph&lt;V&gt; compact = CompactGraph.compile(graph, roots);
+ * LandmarkHeuristic&lt;V&gt; landmarks = LandmarkHeuristic.build(compact, 16);
+ * Pathfinder&lt;V&gt; finder = AStarPathfinder.create(graph.withHeuristic(landmarks));
+ * </pre>
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type of the graph
+ */
+public final class LandmarkHeuristic<V> implements Function2<V, V, Double> {
+
+    private final CompactGraph<V> graph;
+    private final int[] landmarks;
+    // distances from each landmark to every vertex
+    private final double[][] fromLandmark;
+    // distances from every vertex to each landmark
+    private final double[][] toLandmark;
+
+    private LandmarkHeuristic(CompactGraph<V> graph, int[] landmarks, double[][] fromLandmark,
+            double[][] toLandmark) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Selects landmarks and precomputes the distance tables.
+     * 
+     * The landmarks are chosen by farthest-point selection: each landmark is
+     * the vertex farthest away from all landmarks selected before. This places
+     * the landmarks at the periphery of the graph, where they provide the
+     * tightest bounds.
+     * 
+     * @param graph
+     *            the graph to build the heuristic for
+     * @param count
+     *            the number of landmarks. fewer landmarks are used if fewer
+     *            vertices are reachable from the first root.
+     * @return the heuristic
+     */
+    public static <T> LandmarkHeuristic<T> build(CompactGraph<T> graph, int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("at least one landmark is required: " + count);
+        int size = graph.size();
+        count = Math.min(count, size);
+        int[] landmarks = new int[count];
+        double[][] fromLandmark = new double[count][];
+        boolean[] selected = new boolean[size];
+        // minimal distance from any selected landmark to each vertex
+        double[] nearest = new double[size];
+        // start at the vertex farthest from the first root
+        double[] initial = graph.distancesFrom(0);
+        int next = farthest(initial, initial, selected);
+        int found = 0;
+        while (found < count && next >= 0) {
+            landmarks[found] = next;
+            selected[next] = true;
+            fromLandmark[found] = graph.distancesFrom(next);
+            for (int v = 0; v < size; v++)
+                nearest[v] = found == 0 ? fromLandmark[0][v] : Math.min(nearest[v], fromLandmark[found][v]);
+            found++;
+            next = farthest(nearest, initial, selected);
+        }
+        if (found < count) {
+            // the component reachable from the first root is exhausted
+            count = found;
+            landmarks = Arrays.copyOf(landmarks, count);
+            fromLandmark = Arrays.copyOf(fromLandmark, count);
+        }
+        int[] chosen = landmarks;
+        CompactGraph<T> reverse = graph.reverse();
+        double[][] toLandmark = new double[count][];
+        IntStream.range(0, count).parallel().forEach(i -> toLandmark[i] = reverse.distancesFrom(chosen[i]));
+        return new LandmarkHeuristic<>(graph, chosen, fromLandmark, toLandmark);
+    }
+
+    /**
+     * Precomputes the distance tables for a given set of landmarks. All tables
+     * are computed in parallel.
+     * 
+     * @param graph
+     *            the graph to build the heuristic for
+     * @param landmarks
+     *            the indices of the landmark vertices in the graph
+     * @return the heuristic
+     */
+    public static <T> LandmarkHeuristic<T> build(CompactGraph<T> graph, int[] landmarks) {
+        int[] selected = landmarks.clone();
+        if (selected.length == 0)
+            throw new IllegalArgumentException("at least one landmark is required");
+        CompactGraph<T> reverse = graph.reverse();
+        double[][] fromLandmark = new double[selected.length][];
+        double[][] toLandmark = new double[selected.length][];
+        IntStream.range(0, 2 * selected.length).parallel().forEach(i -> {
+            if (i < selected.length)
+                fromLandmark[i] = graph.distancesFrom(selected[i]);
+            else
+                toLandmark[i - selected.length] = reverse.distancesFrom(selected[i - selected.length]);
+        });
+        return new LandmarkHeuristic<>(graph, selected, fromLandmark, toLandmark);
+    }
+
+    /**
+     * finds the reachable vertex with the largest finite distance. vertices
+     * not reachable from the first root and vertices already selected are
+     * ignored.
+     * 
+     * @return the vertex or -1 if there are no candidates left
+     */
+    private static int farthest(double[] distances, double[] reachable, boolean[] selected) {
+        int best = -1;
+        double max = -1;
+        for (int v = 0; v < distances.length; v++) {
+            double distance = distances[v];
+            if (!selected[v] && reachable[v] != Double.POSITIVE_INFINITY && distance != Double.POSITIVE_INFINITY
+                    && distance > max) {
+                max = distance;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * the indices of the landmark vertices in the graph
+     */
+    public int[] getLandmarks() {
+        return this.landmarks.clone();
+    }
+
+    /**
+     * Estimates the distance between two vertices given by their index in the
+     * graph
+     * 
+     * @return a lower bound for the distance
+     */
+    public double estimate(int from, int to) {
+        double estimate = 0;
+        for (int i = 0; i < this.landmarks.length; i++) {
+            double[] forward = this.fromLandmark[i];
+            double[] backward = this.toLandmark[i];
+            // terms involving unreachable vertices are no useful bounds
+            double a = forward[to] - forward[from];
+            if (a > estimate && forward[from] != Double.POSITIVE_INFINITY)
+                estimate = a;
+            double b = backward[from] - backward[to];
+            if (b > estimate && backward[to] != Double.POSITIVE_INFINITY)
+                estimate = b;
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates the distance between two vertices. Vertices that are not part
+     * of the graph have an estimate of {@code 0}.
+     */
+    @Override
+    public Double apply(V from, V to) {
+        int source = this.graph.indexOf(Objects.requireNonNull(from));
+        int target = this.graph.indexOf(Objects.requireNonNull(to));
+        if (source < 0 || target < 0)
+            return 0.0;
+        return this.estimate(source, target);
+    }
+
+}
@@ -0,0 +1,139 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Computes distances from one or many sources to many targets on a
+ * {@link CompactGraph}.
+ * 
+ * Instead of running a separate search for every pair of vertices, a single
+ * Dijkstra search is run per source. It ends as soon as all targets have been
+ * settled. For many sources the searches run in parallel on the common
+ * fork-join pool, each with a workspace borrowed from the pool of its thread.
+ * 
+ * Instances are immutable and can be used from multiple threads concurrently.
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ *
+ * @param <V>
+ *            the vertex type
+ */
+public final class MatrixPathfinder<V> {
+
+    private final CompactGraph<V> graph;
+
+    public MatrixPathfinder(CompactGraph<V> graph) {
+        this.graph = Objects.requireNonNull(graph);
+    }
+
+    public static <T> MatrixPathfinder<T> create(CompactGraph<T> graph) {
+        return new MatrixPathfinder<>(graph);
+    }
+
+    /**
+     * Computes the distances from a single source to many targets. The
+     * resulting matrix has a single row.
+     * 
+     * @param from
+     *            the source vertex
+     * @param targets
+     *            the target vertices
+     * @param withPaths
+     *            {@code true} if the paths should be computed as well
+     * @throws IllegalArgumentException
+     *             if the source vertex is not part of the graph
+     */
+    public DistanceMatrix<V> oneToMany(V from, List<? extends V> targets, boolean withPaths) {
+        return this.manyToMany(Collections.singletonList(from), targets, withPaths);
+    }
+
+    /**
+     * Computes the distances from many sources to many targets
+     * 
+     * @param sources
+     *            the source vertices
+     * @param targets
+     *            the target vertices
+     * @param withPaths
+     *            {@code true} if the paths should be computed as well
+     * @throws IllegalArgumentException
+     *             if a source vertex is not part of the graph
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public DistanceMatrix<V> manyToMany(List<? extends V> sources, List<? extends V> targets, boolean withPaths) {
+        int[] sourceIndices = new int[sources.size()];
+        for (int i = 0; i < sourceIndices.length; i++) {
+            V source = Objects.requireNonNull(sources.get(i));
+            sourceIndices[i] = this.graph.indexOf(source);
+            if (sourceIndices[i] < 0)
+                throw new IllegalArgumentException("source vertex is not part of the graph: " + source);
+        }
+        // targets outside of the graph are unreachable and never settled
+        int[] targetIndices = new int[targets.size()];
+        boolean[] isTarget = new boolean[this.graph.size()];
+        int distinctTargets = 0;
+        for (int j = 0; j < targetIndices.length; j++) {
+            int index = this.graph.indexOf(Objects.requireNonNull(targets.get(j)));
+            targetIndices[j] = index;
+            if (index >= 0 && !isTarget[index]) {
+                isTarget[index] = true;
+                distinctTargets++;
+            }
+        }
+        int targetCount = distinctTargets;
+
+        double[][] distances = new double[sourceIndices.length][];
+        List<V>[][] paths = withPaths ? new List[sourceIndices.length][] : null;
+        IntStream rows = IntStream.range(0, sourceIndices.length);
+        if (sourceIndices.length > 1)
+            rows = rows.parallel();
+        rows.forEach(i -> {
+            try (SearchWorkspace workspace = SearchWorkspace.acquire(this.graph.size())) {
+                this.search(sourceIndices[i], isTarget, targetCount, workspace);
+                distances[i] = new double[targetIndices.length];
+                if (paths != null)
+                    paths[i] = new List[targetIndices.length];
+                for (int j = 0; j < targetIndices.length; j++) {
+                    int target = targetIndices[j];
+                    boolean reached = target >= 0 && workspace.isReached(target);
+                    distances[i][j] = reached ? workspace.distance(target) : Double.POSITIVE_INFINITY;
+                    if (paths != null && reached)
+                        paths[i][j] = this.graph.route(workspace.parents(), sourceIndices[i], target);
+                }
+            }
+        });
+        return new DistanceMatrix<>(new ArrayList<>(sources), new ArrayList<>(targets), distances, paths);
+    }
+
+    /**
+     * dijkstra search until all targets are settled
+     */
+    private void search(int from, boolean[] isTarget, int targetCount, SearchWorkspace workspace) {
+        CompactGraph<V> graph = this.graph;
+        IntHeap queue = workspace.queue;
+        workspace.reset();
+        workspace.reach(from, 0, from);
+        queue.update(from, 0);
+        int remaining = targetCount;
+        while (remaining > 0 && !queue.isEmpty()) {
+            int vertex = queue.poll();
+            if (isTarget[vertex])
+                remaining--;
+            double distance = workspace.distance(vertex);
+            for (int edge = graph.offsets[vertex], end = graph.offsets[vertex + 1]; edge < end; edge++) {
+                int neighbour = graph.targets[edge];
+                double dist = distance + graph.weights[edge];
+                if (dist < workspace.distance(neighbour)) {
+                    workspace.reach(neighbour, dist, vertex);
+                    queue.update(neighbour, dist);
+                }
+            }
+        }
+    }
+
+}
@@ -20,6 +20,12 @@ public final class PathfindingResult<T> {
     private long searchTime;
     private long searchSteps;
     private List<T> path;
+    /**
+     * the length of the path found or {@link Double#NaN} if not known
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    private double distance;
 
     public boolean isSuccess() {
         return type == TYPE.SUCCESS;
@@ -34,15 +40,22 @@ public final class PathfindingResult<T> {
     }
 
     public static <V> PathfindingResult<V> success(long time, long steps, List<V> path) {
-        return new PathfindingResult<>(TYPE.SUCCESS, time, steps, path);
+        return success(time, steps, path, Double.NaN);
+    }
+
+    /**
+     * @since awaeUtils 2.2.0
+     */
+    public static <V> PathfindingResult<V> success(long time, long steps, List<V> path, double distance) {
+        return new PathfindingResult<>(TYPE.SUCCESS, time, steps, path, distance);
     }
 
     public static <V> PathfindingResult<V> failure(long time, long steps) {
-        return new PathfindingResult<>(TYPE.FAILURE, time, steps, null);
+        return new PathfindingResult<>(TYPE.FAILURE, time, steps, null, Double.NaN);
     }
 
     public static <V> PathfindingResult<V> timeout(long time, long steps) {
-        return new PathfindingResult<V>(TYPE.TIMEOUT, time, steps, null);
+        return new PathfindingResult<V>(TYPE.TIMEOUT, time, steps, null, Double.NaN);
     }
 
 }
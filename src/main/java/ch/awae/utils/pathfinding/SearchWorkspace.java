@@ -0,0 +1,167 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reusable search state for path finders operating on a {@link CompactGraph}.
+ * 
+ * A workspace holds distance, parent and heuristic arrays as well as a queue
+ * for a fixed number of vertices. Every array entry is stamped with the
+ * generation it was written in. Resetting the workspace only starts a new
+ * generation, which invalidates all entries at once without touching the
+ * arrays. Repeated searches with the same workspace therefore do not allocate
+ * anything.
+ * 
+ * Workspaces are not thread-safe. Path finders usually borrow them from a
+ * per-thread pool using {@link #acquire(int)} and return them by calling
+ * {@link #close()}:
+ * 
+ * <pre>
+ * try (SearchWorkspace workspace = SearchWorkspace.acquire(graph.size())) {
+ *     // search
+ * }
+ * </pre>
+ * 
+ * @author Andreas Wälchli
+ * @since awaeUtils 2.2.0
+ */
+public final class SearchWorkspace implements AutoCloseable {
+
+    private static final int POOL_SIZE = 4;
+    private static final ThreadLocal<ArrayList<SearchWorkspace>> POOL = ThreadLocal
+            .withInitial(() -> new ArrayList<>(POOL_SIZE));
+
+    /**
+     * Borrows a workspace from the pool of the current thread. If the pool
+     * does not hold a workspace of sufficient capacity, a new one is created.
+     * 
+     * @param capacity
+     *            the number of vertices the workspace must support
+     * @return a reset workspace
+     */
+    public static SearchWorkspace acquire(int capacity) {
+        ArrayList<SearchWorkspace> pool = POOL.get();
+        for (int i = pool.size() - 1; i >= 0; i--) {
+            SearchWorkspace workspace = pool.get(i);
+            if (workspace.capacity >= capacity) {
+                pool.remove(i);
+                workspace.pooled = true;
+                workspace.reset();
+                return workspace;
+            }
+        }
+        SearchWorkspace workspace = new SearchWorkspace(capacity);
+        workspace.pooled = true;
+        return workspace;
+    }
+
+    private final int capacity;
+    private final int[] stamps;
+    private final double[] distances;
+    private final double[] heuristics;
+    private final int[] parents;
+    final IntHeap queue;
+    private int generation = 1;
+    private boolean pooled = false;
+
+    /**
+     * Creates a new workspace that is not managed by a pool
+     * 
+     * @param capacity
+     *            the number of vertices the workspace supports
+     */
+    public SearchWorkspace(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("negative capacity: " + capacity);
+        this.capacity = capacity;
+        this.stamps = new int[capacity];
+        this.distances = new double[capacity];
+        this.heuristics = new double[capacity];
+        this.parents = new int[capacity];
+        this.queue = new IntHeap(capacity);
+    }
+
+    /**
+     * the number of vertices the workspace supports
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Invalidates all search state. This does not depend on the capacity of
+     * the workspace.
+     */
+    public void reset() {
+        this.queue.clear();
+        if (++this.generation == 0) {
+            // the stamps have wrapped around: clear them for real
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+    }
+
+    /**
+     * Returns a workspace obtained by {@link #acquire(int)} to the pool of the
+     * current thread. Has no effect on other workspaces.
+     */
+    @Override
+    public void close() {
+        if (!this.pooled)
+            return;
+        this.pooled = false;
+        ArrayList<SearchWorkspace> pool = POOL.get();
+        if (pool.size() < POOL_SIZE)
+            pool.add(this);
+    }
+
+    /**
+     * checks if the vertex has been reached in the current search
+     */
+    boolean isReached(int vertex) {
+        return this.stamps[vertex] == this.generation;
+    }
+
+    /**
+     * the distance of the vertex, infinite if it has not been reached
+     */
+    double distance(int vertex) {
+        return this.stamps[vertex] == this.generation ? this.distances[vertex] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * the parent of the vertex. only valid for reached vertices.
+     */
+    int parent(int vertex) {
+        return this.parents[vertex];
+    }
+
+    int[] parents() {
+        return this.parents;
+    }
+
+    /**
+     * marks the vertex as reached with the given distance and parent
+     */
+    void reach(int vertex, double distance, int parent) {
+        if (this.stamps[vertex] != this.generation) {
+            this.stamps[vertex] = this.generation;
+            this.heuristics[vertex] = Double.NaN;
+        }
+        this.distances[vertex] = distance;
+        this.parents[vertex] = parent;
+    }
+
+    /**
+     * the cached heuristic of a reached vertex, {@code NaN} if not cached yet
+     */
+    double heuristic(int vertex) {
+        return this.heuristics[vertex];
+    }
+
+    void cacheHeuristic(int vertex, double heuristic) {
+        this.heuristics[vertex] = heuristic;
+    }
+
+}
@@ -7,7 +7,17 @@ public class VertexPathfinder<T extends Vertex<T>> implements Pathfinder<T> {
     private Pathfinder<T> backer;
 
     public VertexPathfinder(Function1<GraphDataProvider<T>, Pathfinder<T>> generator) {
-        backer = generator.apply(new GraphDataProvider<T>() {
+        backer = generator.apply(provider());
+    }
+
+    /**
+     * Provides a graph data provider for vertices. The heuristic is the
+     * euclidean distance between the spatial positions of the vertices.
+     * 
+     * @since awaeUtils 2.2.0
+     */
+    static <T extends Vertex<T>> GraphDataProvider<T> provider() {
+        return new GraphDataProvider<T>() {
 
             @Override
             public Iterable<T> getNeighbours(T vertex) {
@@ -24,7 +34,7 @@ public class VertexPathfinder<T extends Vertex<T>> implements Pathfinder<T> {
                 return getHeuristics(from.getSpatialPosition(), to.getSpatialPosition());
             }
 
-        });
+        };
     }
 
     @Override
@@ -32,7 +42,7 @@ public class VertexPathfinder<T extends Vertex<T>> implements Pathfinder<T> {
         return backer.execute(from, to);
     }
 
-    private double getHeuristics(double[] from, double[] to) {
+    private static double getHeuristics(double[] from, double[] to) {
         int fromLength = from.length;
         int toLength = to.length;
         int longest = Math.max(fromLength, toLength);
@@ -12,6 +12,12 @@
  * <ul>
  * <li>Dijkstra</li>
  * <li>A-Star (using cartesian spatial coordinates as heuristic)</li>
+ * <li>bidirectional A-Star and Dijkstra (for graphs providing reverse
+ * neighbours)</li>
+ * <li>A-Star and Dijkstra on a {@link ch.awae.utils.pathfinding.CompactGraph
+ * CompactGraph}, a compiled array-based snapshot of a graph</li>
+ * <li>contraction hierarchies for static graphs queried many times</li>
+ * <li>Jump Point Search on uniform-cost 2D occupancy grids</li>
  * </ul>
  * 
  * @author Andreas Wälchli
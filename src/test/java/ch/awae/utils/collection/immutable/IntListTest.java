@@ -0,0 +1,68 @@
+package ch.awae.utils.collection.immutable;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class IntListTest {
+
+    @Test
+    public void testPrependSharesChunks() {
+        IntList list = IntList.empty();
+        for (int i = 0; i < 10000; i++)
+            list = list.prepend(i);
+        assertEquals(10000, list.size());
+        for (int i = 0; i < 10000; i++)
+            assertEquals(9999 - i, list.get(i));
+        assertEquals(49995000L, list.stream().asLongStream().sum());
+        assertEquals(9998, list.tail().head());
+    }
+
+    @Test
+    public void testBranchingLists() {
+        IntList base = IntList.of(1, 2, 3).prepend(0);
+        IntList a = base.prepend(10);
+        IntList b = base.prepend(20);
+        IntList c = a.tail().prepend(30);
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, base.toArray());
+        assertArrayEquals(new int[] { 10, 0, 1, 2, 3 }, a.toArray());
+        assertArrayEquals(new int[] { 20, 0, 1, 2, 3 }, b.toArray());
+        assertArrayEquals(new int[] { 30, 0, 1, 2, 3 }, c.toArray());
+        assertEquals(a.tail(), b.tail());
+        assertEquals(a.tail().hashCode(), b.tail().hashCode());
+        assertEquals("IntList(10,0,1,2,3)", a.toString());
+    }
+
+    @Test
+    public void testBranchingOffEverySuffix() {
+        IntList list = IntList.empty();
+        for (int i = 0; i < 300; i++)
+            list = list.prepend(i);
+        IntList suffix = list;
+        for (int i = 299; i >= 0; i--) {
+            IntList first = suffix.prepend(-1);
+            IntList second = suffix.prepend(-2);
+            assertEquals(i + 2, first.size());
+            assertEquals(-1, first.head());
+            assertEquals(-2, second.head());
+            assertEquals(suffix, first.tail());
+            assertEquals(suffix, second.tail());
+            assertEquals(i, first.get(1));
+            suffix = suffix.tail();
+        }
+        assertEquals(300, list.size());
+        assertEquals(299, list.head());
+        assertEquals(0, list.get(299));
+    }
+
+    @Test
+    public void testLongAndDoubleLists() {
+        LongList longs = LongList.of(2, 3).prepend(1);
+        assertEquals(6, longs.stream().sum());
+        assertEquals(3, longs.get(2));
+        DoubleList doubles = DoubleList.of(Double.NaN).prepend(0.5);
+        assertEquals(doubles, DoubleList.of(0.5, Double.NaN));
+        assertEquals(0.5, doubles.iterator().nextDouble(), 0);
+    }
+
+}
@@ -3,6 +3,12 @@ package ch.awae.utils.collection.immutable;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 public class ListTest {
 
     @Test
@@ -65,4 +71,86 @@ public class ListTest {
         assertEquals(List.empty(), list0.tail().tail());
     }
 
+    @Test
+    public void testLongListsAreStackSafe() {
+        List<Integer> a = List.empty();
+        List<Integer> b = List.empty();
+        for (int i = 0; i < 200000; i++) {
+            a = a.prepend(i);
+            b = b.prepend(i);
+        }
+        assertTrue(a.contains(0));
+        assertFalse(a.contains(-1));
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a, b);
+        assertNotEquals(a, new List<>(-1, b.tail()));
+        assertNotEquals(a.prepend(1).hashCode(), a.prepend(2).hashCode());
+        assertFalse(List.empty().contains(null));
+    }
+
+    @Test
+    public void testCombinators() {
+        List<Integer> list = List.of(1, 2, 3, 4, 5);
+        assertEquals(List.of("1", "2", "3", "4", "5"), list.map(String::valueOf));
+        assertEquals(List.of(1, 3, 5), list.filter(i -> i % 2 == 1));
+        assertEquals(Integer.valueOf(15), list.foldLeft(0, (a, b) -> a + b));
+        assertEquals(List.of(5, 4, 3, 2, 1), list.reverse());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), list.append(6));
+        assertEquals(List.of(1, 2, 3, 4, 5, 1, 2), list.concat(List.of(1, 2)));
+        assertTrue("no copy", list == list.filter(i -> true));
+        assertEquals(List.empty(), list.filter(i -> false));
+    }
+
+    @Test
+    public void testFilterAndConcatShareTails() {
+        List<Integer> tail = List.of(4, 5, 6);
+        List<Integer> list = tail.prepend(3).prepend(2).prepend(1);
+        assertTrue("shared suffix", list.filter(i -> i != 2).tail().tail() == tail);
+        List<Integer> other = List.of(7, 8);
+        assertTrue("shared argument", list.concat(other).get(6) == other.head());
+        assertTrue(list.concat(other).tail().tail().tail().tail().tail().tail() == other);
+    }
+
+    @Test
+    public void testBuilder() {
+        ListBuilder<String> builder = new ListBuilder<>(1);
+        builder.add("a").add("b").addAll(List.of("c", "d"));
+        assertEquals(4, builder.size());
+        assertEquals(List.of("a", "b", "c", "d"), builder.build());
+        builder.add("e");
+        assertEquals(List.of("a", "b", "c", "d", "e"), builder.build());
+        builder.clear();
+        assertEquals(List.empty(), builder.build());
+    }
+
+    @Test
+    public void testParallelStream() {
+        ListBuilder<Integer> builder = new ListBuilder<>();
+        for (int i = 0; i < 100000; i++)
+            builder.add(i);
+        List<Integer> list = builder.build();
+        assertEquals(100000, list.spliterator().getExactSizeIfKnown());
+        assertEquals(4999950000L, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertArrayEquals(list.toArray(), list.parallelStream().toArray());
+        assertEquals(List.of(2, 4), List.of(1, 2, 3, 4).stream().filter(i -> i % 2 == 0)
+                .collect(ListBuilder<Integer>::new, ListBuilder::add, (a, b) -> a.addAll(b.build())).build());
+    }
+
+    @Test
+    public void testSerializationOfLongList() throws IOException, ClassNotFoundException {
+        ListBuilder<Integer> builder = new ListBuilder<>();
+        for (int i = 0; i < 200000; i++)
+            builder.add(i);
+        List<Integer> list = builder.build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+            out.writeObject(List.empty());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(list, in.readObject());
+            assertTrue("empty list singleton", List.empty() == in.readObject());
+        }
+    }
+
 }
@@ -0,0 +1,111 @@
+package ch.awae.utils.collection.immutable;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ch.awae.utils.functional.T2;
+
+public class MapTest {
+
+    private static final class Colliding {
+        final int id;
+
+        Colliding(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Colliding && ((Colliding) obj).id == id;
+        }
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(7);
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        Map<Integer, Integer> map = Map.empty();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                reference.remove(key);
+                map = map.remove(key);
+            } else {
+                reference.put(key, i);
+                map = map.put(key, i);
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (int key = 0; key < 5000; key++)
+            assertEquals(reference.get(key), map.get(key));
+        assertEquals(Map.from(reference), map);
+        assertEquals(Map.from(reference).hashCode(), map.hashCode());
+        assertEquals(reference.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void testPersistence() {
+        Map<String, Integer> a = Map.<String, Integer>empty().put("a", 1).put("b", 2);
+        Map<String, Integer> b = a.put("a", 3).remove("b");
+        assertEquals(Integer.valueOf(1), a.get("a"));
+        assertEquals(Integer.valueOf(2), a.get("b"));
+        assertEquals(Integer.valueOf(3), b.get("a"));
+        assertFalse(b.containsKey("b"));
+        assertTrue("no change", a == a.remove("c"));
+        assertTrue("no change", a == a.put("a", 1));
+    }
+
+    @Test
+    public void testHashCollisions() {
+        MapBuilder<Colliding, Integer> builder = Map.builder();
+        for (int i = 0; i < 10; i++)
+            builder.put(new Colliding(i), i);
+        Map<Colliding, Integer> map = builder.build();
+        assertEquals(10, map.size());
+        for (int i = 0; i < 10; i++)
+            assertEquals(Integer.valueOf(i), map.get(new Colliding(i)));
+        for (int i = 0; i < 10; i++)
+            map = map.remove(new Colliding(i));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testBuilderDoesNotAffectBuiltMaps() {
+        MapBuilder<Integer, Integer> builder = Map.builder();
+        for (int i = 0; i < 1000; i++)
+            builder.put(i, i);
+        Map<Integer, Integer> first = builder.build();
+        for (int i = 0; i < 1000; i += 2)
+            builder.remove(i);
+        builder.put(1, -1);
+        Map<Integer, Integer> second = builder.build();
+        assertEquals(1000, first.size());
+        assertEquals(500, second.size());
+        assertEquals(Integer.valueOf(1), first.get(1));
+        assertEquals(Integer.valueOf(-1), second.get(1));
+        assertEquals(Integer.valueOf(0), first.get(0));
+        Map<Integer, Integer> third = first.toBuilder().put(0, 7).build();
+        assertEquals(Integer.valueOf(0), first.get(0));
+        assertEquals(Integer.valueOf(7), third.get(0));
+    }
+
+    @Test
+    public void testListInterop() {
+        List<T2<String, Integer>> pairs = List.of(T2.of("a", 1), T2.of("b", 2), T2.of("a", 3));
+        Map<String, Integer> map = Map.from(pairs);
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(3), map.get("a"));
+        assertEquals(map, Map.from(map.toList()));
+        assertEquals(Set.of("a", "b"), map.keySet());
+    }
+
+}
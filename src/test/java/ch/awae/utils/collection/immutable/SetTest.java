@@ -0,0 +1,38 @@
+package ch.awae.utils.collection.immutable;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class SetTest {
+
+    @Test
+    public void testAddAndRemove() {
+        Set<String> set = Set.of("a", "b");
+        Set<String> added = set.add("c");
+        assertTrue("no change", set == set.add("a"));
+        assertEquals(2, set.size());
+        assertEquals(3, added.size());
+        assertTrue(added.contains("c"));
+        assertFalse(set.contains("c"));
+        assertEquals(set, added.remove("c"));
+        assertEquals(Set.empty(), set.remove("a").remove("b"));
+    }
+
+    @Test
+    public void testConversions() {
+        HashSet<Integer> reference = new HashSet<>(Arrays.asList(1, 2, 3, 5, 8, 13));
+        Set<Integer> set = Set.from(reference);
+        assertEquals(reference.hashCode(), set.hashCode());
+        assertEquals(set, Set.from(set.toList()));
+        assertEquals(set, set.toBuilder().add(21).remove(21).build());
+        HashSet<Integer> iterated = new HashSet<>();
+        for (Integer i : set)
+            iterated.add(i);
+        assertEquals(reference, iterated);
+    }
+
+}
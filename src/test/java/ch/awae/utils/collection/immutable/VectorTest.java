@@ -0,0 +1,53 @@
+package ch.awae.utils.collection.immutable;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class VectorTest {
+
+    @Test
+    public void testAppendAndGetAcrossTrieLevels() {
+        Vector<Integer> vector = Vector.empty();
+        for (int i = 0; i < 40000; i++)
+            vector = vector.append(i);
+        assertEquals(40000, vector.size());
+        for (int i = 0; i < 40000; i++)
+            assertEquals(Integer.valueOf(i), vector.get(i));
+        int expected = 0;
+        for (Integer i : vector)
+            assertEquals(Integer.valueOf(expected++), i);
+        assertEquals(40000, expected);
+    }
+
+    @Test
+    public void testUpdateSharesStructure() {
+        Vector<String> original = Vector.empty();
+        for (int i = 0; i < 1100; i++)
+            original = original.append(Integer.toString(i));
+        Vector<String> updated = original.update(5, "x").update(1090, "y");
+        assertEquals("5", original.get(5));
+        assertEquals("1090", original.get(1090));
+        assertEquals("x", updated.get(5));
+        assertEquals("y", updated.get(1090));
+        assertEquals(original.get(500), updated.get(500));
+        assertNotEquals(original, updated);
+        assertEquals(original, updated.update(5, "5").update(1090, "1090"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        Vector.of("a", "b").get(2);
+    }
+
+    @Test
+    public void testListConversion() {
+        List<String> list = List.of("1", "2", "3");
+        Vector<String> vector = list.toVector();
+        assertEquals(Vector.of("1", "2", "3"), vector);
+        assertEquals("Vector(1,2,3)", vector.toString());
+        assertEquals(list, vector.toList());
+        assertEquals(List.empty(), Vector.empty().toList());
+    }
+
+}
@@ -0,0 +1,72 @@
+package ch.awae.utils.collection.mutable;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+public class ArrayQueueTest {
+
+    @Test
+    public void testFifoOrderAcrossWrapAround() {
+        ArrayQueue<Integer> queue = new ArrayQueue<>(4);
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++)
+                queue.add(round * 3 + i);
+            for (int i = 0; i < 2; i++)
+                assertEquals(Integer.valueOf(next++), queue.poll());
+        }
+        assertEquals(10, queue.size());
+        while (!queue.isEmpty())
+            assertEquals(Integer.valueOf(next++), queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testArbitraryRemoval() {
+        ArrayQueue<Integer> queue = new ArrayQueue<>(4);
+        for (int i = 0; i < 6; i++)
+            queue.add(i);
+        queue.poll();
+        queue.add(6);
+        assertTrue(queue.remove(Integer.valueOf(2)));
+        assertTrue(queue.remove(Integer.valueOf(5)));
+        assertFalse(queue.remove(Integer.valueOf(0)));
+        assertArrayEquals(new Object[] { 1, 3, 4, 6 }, queue.toArray());
+        assertTrue(queue.removeAll(Arrays.asList(1, 6)));
+        assertArrayEquals(new Object[] { 3, 4 }, queue.toArray());
+        queue.add(7);
+        assertTrue(queue.retainAll(Arrays.asList(4, 7)));
+        assertFalse(queue.retainAll(Arrays.asList(4, 7)));
+        assertArrayEquals(new Integer[] { 4, 7 }, queue.toArray(new Integer[0]));
+    }
+
+    @Test
+    public void testIteratorRemoval() {
+        ArrayQueue<String> queue = new ArrayQueue<>();
+        queue.addAll(Arrays.asList("a", "b", "c", "d"));
+        Iterator<String> it = queue.iterator();
+        while (it.hasNext())
+            if (!it.next().equals("c"))
+                it.remove();
+        assertEquals(1, queue.size());
+        assertEquals("c", queue.peek());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveOnEmptyQueue() {
+        ArrayQueue<String> queue = new ArrayQueue<>();
+        queue.add("a");
+        queue.poll();
+        queue.remove();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testElementOnEmptyQueue() {
+        new ArrayQueue<String>().element();
+    }
+
+}
@@ -0,0 +1,50 @@
+package ch.awae.utils.collection.mutable;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ConcurrentPriorityQueueTest {
+
+    @Test
+    public void testMaxQueueOrderWithTies() {
+        ConcurrentPriorityQueue<String> queue = ConcurrentPriorityQueue.maxQueue();
+        queue.add("b1", 1);
+        queue.add("c", 5);
+        queue.add("b2", 1);
+        queue.add("a", -3);
+        assertEquals(4, queue.size());
+        assertEquals("c", queue.peek());
+        assertEquals("c", queue.poll());
+        assertEquals("b1", queue.poll());
+        assertEquals("b2", queue.poll());
+        assertEquals("a", queue.poll());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        ConcurrentPriorityQueue<Integer> queue = ConcurrentPriorityQueue.minQueue();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++)
+                    queue.add(4 * i + offset, 4 * i + offset);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(4000, queue.size());
+        for (int i = 0; i < 4000; i++)
+            assertEquals(Integer.valueOf(i), queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+}
@@ -0,0 +1,46 @@
+package ch.awae.utils.collection.mutable;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+public class LinkedQueueTest {
+
+    @Test
+    public void testFifoOrderAcrossChunks() {
+        LinkedQueue<Integer> queue = new LinkedQueue<>(4, 2);
+        int next = 0;
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 5; i++)
+                queue.add(round * 5 + i);
+            for (int i = 0; i < 3; i++)
+                assertEquals(Integer.valueOf(next++), queue.poll());
+        }
+        assertEquals(40, queue.size());
+        Iterator<Integer> it = queue.iterator();
+        for (int i = next; i < 100; i++)
+            assertEquals(Integer.valueOf(i), it.next());
+        assertFalse(it.hasNext());
+        while (!queue.isEmpty())
+            assertEquals(Integer.valueOf(next++), queue.poll());
+        assertNull(queue.poll());
+        assertFalse(queue.iterator().hasNext());
+    }
+
+    @Test
+    public void testReuseAfterClear() {
+        LinkedQueue<String> queue = new LinkedQueue<>(2, 1);
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        queue.add("d");
+        assertEquals("d", queue.peek());
+        assertArrayEquals(new Object[] { "d" }, queue.toArray());
+    }
+
+}
@@ -0,0 +1,103 @@
+package ch.awae.utils.collection.mutable;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Test;
+
+public class LockFreeQueueTest {
+
+    @Test
+    public void testSpscQueueCapacity() {
+        SpscQueue<Integer> queue = new SpscQueue<>(3);
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++)
+            assertTrue(queue.offer(i));
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4));
+        for (int i = 1; i <= 4; i++)
+            assertEquals(Integer.valueOf(i), queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testSpscQueueHandOff() throws InterruptedException {
+        SpscQueue<Integer> queue = new SpscQueue<>(64);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100000; i++)
+                while (!queue.offer(i))
+                    Thread.yield();
+        });
+        producer.start();
+        for (int i = 0; i < 100000; i++) {
+            Integer item;
+            while ((item = queue.poll()) == null)
+                Thread.yield();
+            assertEquals(i, item.intValue());
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMpscQueueProducers() throws InterruptedException {
+        MpscQueue<Integer> queue = new MpscQueue<>();
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10000; i++)
+                    queue.add(4 * i + offset);
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        int[] last = { -1, -1, -1, -1 };
+        int received = 0;
+        while (received < 40000) {
+            Integer item = queue.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            // each producer's elements arrive in order
+            int producer = item % 4;
+            assertTrue(item > last[producer]);
+            last[producer] = item;
+            received++;
+        }
+        for (Thread producer : producers)
+            producer.join();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullElementsRejected() {
+        Queue<String> queue = new MpscQueue<>();
+        queue.add(null);
+    }
+
+    @Test
+    public void testOnlyHeadRemovalSupported() {
+        for (Queue<String> queue : Arrays.<Queue<String>> asList(new SpscQueue<>(4), new MpscQueue<>())) {
+            queue.add("a");
+            queue.add("b");
+            try {
+                queue.remove("b");
+                fail("arbitrary removal must not be supported");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+            assertEquals("a", queue.remove());
+            queue.clear();
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+}
@@ -0,0 +1,361 @@
+package ch.awae.utils.collection.mutable;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import ch.awae.utils.collection.mutable.PriorityQueue.Backend;
+
+public class PriorityQueueTest {
+
+    @Test
+    public void testMinQueueOrder() {
+        PriorityQueue<String> queue = PriorityQueue.minQueue();
+        queue.add("c", 3);
+        queue.add("a", 1);
+        queue.add("b", 2);
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testMaxQueueOrder() {
+        PriorityQueue<String> queue = PriorityQueue.maxQueue();
+        queue.add("c", 3);
+        queue.add("a", 1);
+        queue.add("b", 2);
+        assertEquals("c", queue.poll());
+        assertEquals("b", queue.poll());
+        assertEquals("a", queue.poll());
+    }
+
+    @Test
+    public void testIndexedQueueUpdatesPriority() {
+        PriorityQueue<String> queue = PriorityQueue.indexedMinQueue();
+        queue.add("a", 5);
+        queue.add("b", 3);
+        queue.add("a", 1);
+        assertEquals(2, queue.size());
+        assertTrue(queue.contains("a"));
+        assertEquals("a", queue.poll());
+        assertFalse(queue.contains("a"));
+        queue.setPriority("c", 0);
+        assertEquals("c", queue.peek());
+        assertTrue(queue.remove("c"));
+        assertFalse(queue.remove("c"));
+        assertEquals("b", queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIndexedQueueRandomOperations() {
+        Random random = new Random(42);
+        PriorityQueue<Integer> queue = PriorityQueue.indexedMinQueue();
+        double[] priorities = new double[200];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = random.nextDouble();
+            queue.add(i, priorities[i]);
+        }
+        for (int i = 0; i < 100; i++) {
+            int element = random.nextInt(priorities.length);
+            priorities[element] = random.nextDouble();
+            queue.setPriority(element, priorities[element]);
+        }
+        for (int i = 0; i < 50; i++) {
+            int element = 2 * i;
+            queue.remove(element);
+            priorities[element] = Double.NaN;
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int element = queue.poll();
+            assertFalse(Double.isNaN(priorities[element]));
+            assertTrue(priorities[element] >= last);
+            last = priorities[element];
+            count++;
+        }
+        assertEquals(150, count);
+    }
+
+    @Test
+    public void testIndexedQueueGrowthAndNullElement() {
+        PriorityQueue<Integer> queue = PriorityQueue.indexedMaxQueue();
+        for (int i = 0; i < 1000; i++)
+            queue.add(i, i % 17);
+        queue.add(null, 100);
+        assertEquals(1001, queue.size());
+        assertTrue(queue.contains(null));
+        assertEquals(100, queue.peekPriority(), 0);
+        assertNull(queue.poll());
+        for (int i = 0; i < 1000; i++)
+            assertTrue(queue.contains(i));
+        double last = Double.POSITIVE_INFINITY;
+        while (!queue.isEmpty()) {
+            double priority = queue.peekPriority();
+            assertTrue(priority <= last);
+            last = priority;
+            assertFalse(queue.contains(null));
+            queue.poll();
+        }
+    }
+
+    @Test
+    public void testBackendsAgreeOnMonotoneWorkload() {
+        for (Backend backend : Backend.values()) {
+            Random random = new Random(7);
+            PriorityQueue<Integer> queue = PriorityQueue.indexedMinQueue(backend);
+            double[] priorities = new double[500];
+            for (int i = 0; i < priorities.length; i++) {
+                priorities[i] = random.nextDouble() * 1000;
+                queue.add(i, priorities[i]);
+            }
+            double last = 0;
+            int count = 0;
+            while (!queue.isEmpty()) {
+                double priority = queue.peekPriority();
+                int element = queue.poll();
+                assertEquals(backend.name(), priorities[element], priority, 0);
+                assertTrue(backend.name(), priority >= last);
+                last = priority;
+                count++;
+                // decrease some keys, staying monotone
+                for (int i = 0; i < 3; i++) {
+                    int candidate = random.nextInt(priorities.length);
+                    if (queue.contains(candidate) && priorities[candidate] > last) {
+                        priorities[candidate] = last + (priorities[candidate] - last) * random.nextDouble();
+                        queue.setPriority(candidate, priorities[candidate]);
+                    }
+                }
+                if (count % 50 == 0 && queue.remove(element + 1))
+                    count++;
+            }
+            assertEquals(backend.name(), priorities.length, count);
+        }
+    }
+
+    @Test
+    public void testNonIndexedBackendsKeepDuplicates() {
+        for (Backend backend : Backend.values()) {
+            PriorityQueue<String> queue = PriorityQueue.minQueue(backend);
+            queue.add("a", 2);
+            queue.add("a", 1);
+            queue.add("b", 3);
+            assertEquals(backend.name(), 3, queue.size());
+            assertTrue(queue.retainAll(Arrays.asList("a")));
+            assertEquals(backend.name(), 2, queue.size());
+            assertEquals("a", queue.poll());
+            assertEquals("a", queue.poll());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testRetainAllAndRemoveAllRandomized() {
+        Random random = new Random(21);
+        for (Backend backend : Backend.values()) {
+            for (int trial = 0; trial < 100; trial++) {
+                boolean indexed = random.nextBoolean();
+                PriorityQueue<Integer> queue = indexed ? PriorityQueue.indexedMinQueue(backend)
+                        : PriorityQueue.minQueue(backend);
+                Map<Integer, Double> priorities = new HashMap<>();
+                for (int i = 0; i < random.nextInt(60); i++) {
+                    int element = random.nextInt(1000);
+                    double priority = random.nextInt(100);
+                    if (priorities.containsKey(element))
+                        continue;
+                    priorities.put(element, priority);
+                    queue.add(element, priority);
+                }
+                List<Integer> filter = new ArrayList<>();
+                for (int i = 0; i < 1000; i++)
+                    if (random.nextInt(3) == 0)
+                        filter.add(i);
+                boolean retain = random.nextBoolean();
+                if (retain)
+                    queue.retainAll(filter);
+                else
+                    queue.removeAll(filter);
+                priorities.keySet().removeIf(e -> filter.contains(e) != retain);
+
+                List<Double> expected = new ArrayList<>(priorities.values());
+                Collections.sort(expected);
+                assertEquals(backend.name(), expected.size(), queue.size());
+                for (double priority : expected) {
+                    assertEquals(backend.name(), priority, queue.peekPriority(), 0);
+                    Integer element = queue.poll();
+                    assertEquals(backend.name(), priority, priorities.remove(element), 0);
+                }
+                assertTrue(queue.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicateReferencesKeepTheirPriorities() {
+        PriorityQueue<String> queue = PriorityQueue.minQueue();
+        for (double priority : new double[] { 1, 5, 2, 6, 7, 3, 4 })
+            queue.add("job", priority);
+        for (double expected = 1; expected <= 7; expected++) {
+            assertEquals(expected, queue.peekPriority(), 0);
+            assertEquals("job", queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDuplicateReferencesRandomized() {
+        Random random = new Random(20);
+        for (int trial = 0; trial < 200; trial++) {
+            PriorityQueue<String> queue = PriorityQueue.minQueue();
+            List<Double> priorities = new ArrayList<>();
+            for (int i = 0; i < 3 + random.nextInt(20); i++) {
+                double priority = random.nextInt(50);
+                priorities.add(priority);
+                queue.add(random.nextBoolean() ? "job" : "task", priority);
+            }
+            Collections.sort(priorities);
+            for (double expected : priorities) {
+                assertEquals(expected, queue.peekPriority(), 0);
+                queue.poll();
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRadixRejectsNonMonotonePriorities() {
+        PriorityQueue<String> queue = PriorityQueue.minQueue(Backend.RADIX);
+        queue.add("a", 5);
+        queue.add("b", 7);
+        queue.poll();
+        queue.add("c", 4);
+    }
+
+    @Test
+    public void testRadixPeekKeepsMonotoneFloor() {
+        for (boolean indexed : new boolean[] { false, true }) {
+            PriorityQueue<String> queue = indexed ? PriorityQueue.indexedMinQueue(Backend.RADIX)
+                    : PriorityQueue.minQueue(Backend.RADIX);
+            queue.add("a", 5);
+            queue.add("b", 9);
+            assertEquals("a", queue.peek());
+            assertEquals(5, queue.peekPriority(), 0);
+            queue.add("c", 3);
+            assertEquals("c", queue.peek());
+            queue.setPriority("b", 1);
+            assertEquals("b", queue.poll());
+            assertEquals("c", queue.poll());
+            assertEquals("a", queue.poll());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRadixRejectsMaxQueue() {
+        PriorityQueue.maxQueue(Backend.RADIX);
+    }
+
+    @Test
+    public void testBulkLoadAndBatchPoll() {
+        for (Backend backend : Backend.values()) {
+            for (boolean indexed : new boolean[] { false, true }) {
+                PriorityQueue<Integer> queue = indexed ? PriorityQueue.indexedMinQueue(backend)
+                        : PriorityQueue.minQueue(backend);
+                queue.add(-1, 0.5);
+                Integer[] elements = new Integer[100];
+                double[] priorities = new double[100];
+                for (int i = 0; i < 100; i++) {
+                    elements[i] = i;
+                    priorities[i] = (i * 37) % 100;
+                }
+                queue.addAll(elements, priorities);
+                assertEquals(101, queue.size());
+                Integer[] batch = new Integer[10];
+                assertEquals(10, queue.pollBatch(10, batch));
+                assertEquals(Integer.valueOf(0), batch[0]);
+                assertEquals(Integer.valueOf(-1), batch[1]);
+                for (int i = 2; i < 10; i++)
+                    assertEquals(i - 1, (int) priorities[batch[i]]);
+                int remaining = 0;
+                int polled;
+                while ((polled = queue.pollBatch(10, batch)) > 0)
+                    remaining += polled;
+                assertEquals(91, remaining);
+                assertTrue(queue.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testIndexedBulkLoadUpdatesExistingElements() {
+        PriorityQueue<String> queue = PriorityQueue.indexedMaxQueue();
+        queue.add("a", 1);
+        Map<String, Double> batch = new HashMap<>();
+        batch.put("a", 10.0);
+        batch.put("b", 5.0);
+        batch.put("c", 7.0);
+        queue.addAll(batch);
+        assertEquals(3, queue.size());
+        String[] result = new String[3];
+        assertEquals(3, queue.pollBatch(3, result));
+        assertArrayEquals(new String[] { "a", "c", "b" }, result);
+    }
+
+    @Test
+    public void testSortedViewsDoNotModifyQueue() {
+        for (Backend backend : Backend.values()) {
+            PriorityQueue<Integer> queue = PriorityQueue.minQueue(backend);
+            for (int i = 0; i < 300; i++)
+                queue.add(i, (i * 7919) % 1000);
+            // force some structure into the lazy heaps
+            for (int i = 0; i < 20; i++)
+                queue.poll();
+            List<Integer> sorted = queue.sortedStream().collect(Collectors.toList());
+            assertEquals(backend.name(), 280, sorted.size());
+            assertEquals(backend.name(), 280, queue.size());
+            assertEquals(backend.name(), sorted.subList(0, 5), queue.topK(5));
+            assertEquals(backend.name(), sorted, queue.topK(1000));
+            for (Integer expected : sorted)
+                assertEquals(backend.name(), expected, queue.poll());
+        }
+    }
+
+    @Test
+    public void testBoundedQueueKeepsBestElements() {
+        List<Integer> evicted = new ArrayList<>();
+        PriorityQueue<Integer> queue = PriorityQueue.boundedMaxQueue(10, (e, p) -> {
+            assertEquals(e.intValue(), (int) p);
+            evicted.add(e);
+        });
+        Random random = new Random(11);
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            input.add(i);
+        Collections.shuffle(input, random);
+        for (Integer i : input)
+            queue.add(i, i);
+        assertEquals(10, queue.size());
+        assertEquals(10, queue.getCapacity());
+        assertEquals(990, evicted.size());
+        assertEquals(Arrays.asList(999, 998, 997, 996, 995, 994, 993, 992, 991, 990), queue.topK(10));
+        assertTrue(queue.remove(995));
+        queue.add(5, 5);
+        assertEquals(10, queue.size());
+        assertEquals(990, evicted.size());
+        queue.add(4, 4);
+        assertEquals(Integer.valueOf(4), evicted.get(990));
+        for (int expected : new int[] { 999, 998, 997, 996, 994, 993, 992, 991, 990, 5 })
+            assertEquals(Integer.valueOf(expected), queue.poll());
+    }
+
+}
@@ -0,0 +1,56 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import ch.awae.utils.functional.T2;
+
+public class BatchPathfinderTest {
+
+    @Test
+    public void testResultsInInputOrder() throws InterruptedException {
+        TestGrid grid = new TestGrid(30, 30, 15);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        Random random = new Random(16);
+        List<T2<Integer, Integer>> queries = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            queries.add(T2.of(graph.vertex(random.nextInt(graph.size())), random.nextInt(900)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            BatchPathfinder<Integer> batch = new BatchPathfinder<>(() -> CompactPathfinder.aStar(graph), executor, 3);
+            BatchResult<Integer> result = batch.execute(queries);
+            Pathfinder<Integer> reference = DijkstraPathfinder.create(grid);
+            assertEquals(100, result.size());
+            int successes = 0;
+            for (int i = 0; i < queries.size(); i++) {
+                PathfindingResult<Integer> expected = reference.execute(queries.get(i)._1, queries.get(i)._2);
+                assertEquals(expected.isSuccess(), result.get(i).isSuccess());
+                if (expected.isSuccess()) {
+                    successes++;
+                    assertEquals(expected.getDistance(), result.get(i).getDistance(), 1e-9);
+                }
+            }
+            assertEquals(successes, result.getSuccessCount());
+            assertEquals(100 - successes, result.getFailureCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPropagatesExceptions() throws InterruptedException {
+        CompactGraph<Integer> graph = CompactGraph.compile(new TestGrid(5, 5, 17), 0);
+        List<T2<Integer, Integer>> queries = new ArrayList<>();
+        queries.add(T2.of(-1, 0));
+        new BatchPathfinder<>(() -> CompactPathfinder.dijkstra(graph)).execute(queries);
+    }
+
+}
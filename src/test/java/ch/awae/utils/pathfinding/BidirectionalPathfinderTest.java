@@ -0,0 +1,91 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BidirectionalPathfinderTest {
+
+    @Test
+    public void testMatchesDijkstraPathfinder() {
+        TestGrid grid = new TestGrid(40, 40, 5, true);
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(grid);
+        Pathfinder<Integer> aStar = BidirectionalAStarPathfinder.create(grid);
+        Pathfinder<Integer> dijkstra = BidirectionalDijkstraPathfinder.create(grid);
+        List<Pathfinder<Integer>> finders = Arrays.asList(aStar, dijkstra);
+        Random random = new Random(6);
+        for (int i = 0; i < 50; i++) {
+            int from = random.nextInt(1600);
+            int to = random.nextInt(1600);
+            PathfindingResult<Integer> expected = reference.execute(from, to);
+            for (Pathfinder<Integer> finder : finders) {
+                PathfindingResult<Integer> result = finder.execute(from, to);
+                assertEquals(expected.isSuccess(), result.isSuccess());
+                if (expected.isSuccess()) {
+                    assertEquals(expected.getDistance(), result.getDistance(), 1e-9);
+                    assertEquals(expected.getDistance(), CompactPathfinderTest.length(grid, from, result), 1e-9);
+                    assertEquals(expected.getPath(), result.getPath());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDirectedChain() {
+        // 0 -> 1 -> 2, without any edges back
+        GraphDataProvider<Integer> chain = new GraphDataProvider<Integer>() {
+
+            @Override
+            public Iterable<Integer> getNeighbours(Integer vertex) {
+                return vertex < 2 ? Arrays.asList(vertex + 1) : Collections.emptyList();
+            }
+
+            @Override
+            public Iterable<Integer> getReverseNeighbours(Integer vertex) {
+                return vertex > 0 ? Arrays.asList(vertex - 1) : Collections.emptyList();
+            }
+
+            @Override
+            public double getDistance(Integer from, Integer to) {
+                return 1;
+            }
+        };
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(chain);
+        for (Pathfinder<Integer> finder : Arrays.asList(BidirectionalAStarPathfinder.create(chain),
+                BidirectionalDijkstraPathfinder.create(chain))) {
+            for (int from = 0; from < 3; from++) {
+                for (int to = 0; to < 3; to++) {
+                    PathfindingResult<Integer> expected = reference.execute(from, to);
+                    PathfindingResult<Integer> result = finder.execute(from, to);
+                    assertEquals(expected.isSuccess(), result.isSuccess());
+                    if (expected.isSuccess())
+                        assertEquals(expected.getPath(), result.getPath());
+                }
+            }
+            assertEquals(Arrays.asList(1), finder.findPath(0, 1));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRequiresReverseNeighbours() {
+        GraphDataProvider<Integer> forwardOnly = new GraphDataProvider<Integer>() {
+
+            @Override
+            public Iterable<Integer> getNeighbours(Integer vertex) {
+                return Arrays.asList(vertex + 1);
+            }
+
+            @Override
+            public double getDistance(Integer from, Integer to) {
+                return 1;
+            }
+        };
+        BidirectionalDijkstraPathfinder.create(forwardOnly).execute(0, 5);
+    }
+
+}
@@ -0,0 +1,79 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CompactPathfinderTest {
+
+    @Test
+    public void testCompilation() {
+        TestGrid grid = new TestGrid(30, 30, 1);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        assertEquals(0, graph.indexOf(0));
+        assertEquals(-1, graph.indexOf(-5));
+        for (int i = 0; i < graph.size(); i++) {
+            Integer vertex = graph.vertex(i);
+            int degree = 0;
+            for (Integer n : grid.getNeighbours(vertex))
+                degree++;
+            assertEquals(degree, graph.degree(i));
+        }
+    }
+
+    @Test
+    public void testMatchesAStarPathfinder() {
+        TestGrid grid = new TestGrid(40, 40, 2);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(grid);
+        Pathfinder<Integer> aStar = CompactPathfinder.aStar(graph);
+        Pathfinder<Integer> dijkstra = CompactPathfinder.dijkstra(graph);
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            int from = graph.vertex(random.nextInt(graph.size()));
+            int to = random.nextInt(1600);
+            PathfindingResult<Integer> expected = reference.execute(from, to);
+            PathfindingResult<Integer> a = aStar.execute(from, to);
+            PathfindingResult<Integer> d = dijkstra.execute(from, to);
+            assertEquals(expected.isSuccess(), a.isSuccess());
+            assertEquals(expected.isSuccess(), d.isSuccess());
+            if (expected.isSuccess()) {
+                assertEquals(expected.getDistance(), a.getDistance(), 1e-9);
+                assertEquals(expected.getDistance(), d.getDistance(), 1e-9);
+                assertEquals(to, (int) a.getPath().get(0));
+                assertEquals(expected.getDistance(), length(grid, from, a), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testWorkspaceReuse() {
+        TestGrid grid = new TestGrid(20, 20, 4);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        CompactPathfinder<Integer> finder = CompactPathfinder.dijkstra(graph);
+        SearchWorkspace workspace = new SearchWorkspace(graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            PathfindingResult<Integer> fresh = finder.executeByIndex(0, i);
+            PathfindingResult<Integer> reused = finder.executeByIndex(0, i, workspace);
+            assertEquals(fresh.getDistance(), reused.getDistance(), 0);
+            assertEquals(fresh.getPath(), reused.getPath());
+        }
+        SearchWorkspace pooled = SearchWorkspace.acquire(10);
+        pooled.close();
+        assertSame(pooled, SearchWorkspace.acquire(5));
+    }
+
+    static double length(GraphDataProvider<Integer> grid, int from, PathfindingResult<Integer> result) {
+        double length = 0;
+        int previous = from;
+        for (int i = result.getPath().size() - 1; i >= 0; i--) {
+            int step = result.getPath().get(i);
+            length += grid.getDistance(previous, step);
+            previous = step;
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,34 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ContractionHierarchyTest {
+
+    @Test
+    public void testMatchesDijkstraPathfinder() {
+        TestGrid grid = new TestGrid(40, 40, 7);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.build(grid, Collections.singleton(0));
+        CompactGraph<Integer> graph = hierarchy.getGraph();
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(grid);
+        Random random = new Random(8);
+        for (int i = 0; i < 200; i++) {
+            int from = graph.vertex(random.nextInt(graph.size()));
+            int to = random.nextInt(1600);
+            PathfindingResult<Integer> expected = reference.execute(from, to);
+            PathfindingResult<Integer> result = hierarchy.execute(from, to);
+            assertEquals(expected.isSuccess(), result.isSuccess());
+            if (expected.isSuccess()) {
+                assertEquals(expected.getDistance(), result.getDistance(), 1e-9);
+                assertEquals(expected.getDistance(), CompactPathfinderTest.length(grid, from, result), 1e-9);
+                if (from != to)
+                    assertEquals(to, (int) result.getPath().get(0));
+            }
+        }
+    }
+
+}
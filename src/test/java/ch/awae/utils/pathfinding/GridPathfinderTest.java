@@ -0,0 +1,125 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class GridPathfinderTest {
+
+    private static GridPathfinder randomGrid(int width, int height, long seed) {
+        GridPathfinder grid = new GridPathfinder(width, height);
+        Random random = new Random(seed);
+        for (int x = 0; x < width; x++)
+            for (int y = 0; y < height; y++)
+                grid.setBlocked(x, y, random.nextInt(4) == 0);
+        return grid;
+    }
+
+    // the same grid as an 8-connected graph without corner cutting
+    private static GraphDataProvider<Integer> asGraph(GridPathfinder grid) {
+        int width = grid.getWidth();
+        return new GraphDataProvider<Integer>() {
+
+            @Override
+            public Iterable<Integer> getNeighbours(Integer vertex) {
+                int x = vertex % width;
+                int y = vertex / width;
+                List<Integer> neighbours = new ArrayList<>();
+                if (grid.isBlocked(x, y))
+                    return neighbours;
+                for (int dx = -1; dx <= 1; dx++)
+                    for (int dy = -1; dy <= 1; dy++)
+                        if ((dx != 0 || dy != 0) && !grid.isBlocked(x + dx, y + dy) && !grid.isBlocked(x + dx, y)
+                                && !grid.isBlocked(x, y + dy))
+                            neighbours.add((y + dy) * width + x + dx);
+                return neighbours;
+            }
+
+            @Override
+            public double getDistance(Integer from, Integer to) {
+                return from % width != to % width && from / width != to / width ? Math.sqrt(2) : 1;
+            }
+
+            @Override
+            public double getHeuristicDistance(Integer from, Integer to) {
+                return 0;
+            }
+
+        };
+    }
+
+    @Test
+    public void testMatchesDijkstra() {
+        GridPathfinder grid = randomGrid(40, 30, 18);
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(asGraph(grid));
+        Random random = new Random(19);
+        for (int i = 0; i < 200; i++) {
+            int[] from = { random.nextInt(40), random.nextInt(30) };
+            int[] to = { random.nextInt(40), random.nextInt(30) };
+            PathfindingResult<int[]> result = grid.execute(from, to);
+            PathfindingResult<Integer> expected = reference.execute(from[1] * 40 + from[0], to[1] * 40 + to[0]);
+            assertEquals(expected.isSuccess(), result.isSuccess());
+            if (!result.isSuccess())
+                continue;
+            assertEquals(expected.getDistance(), result.getDistance(), 1e-9);
+            assertEquals(result.getDistance(), length(grid, from, to, result.getPath()), 1e-9);
+        }
+    }
+
+    // validates the path and sums its length
+    private static double length(GridPathfinder grid, int[] from, int[] to, List<int[]> path) {
+        if (path.isEmpty()) {
+            assertArrayEquals(from, to);
+            return 0;
+        }
+        assertArrayEquals(to, path.get(0));
+        double length = 0;
+        for (int i = 0; i < path.size(); i++) {
+            int[] cell = path.get(i);
+            int[] next = i + 1 < path.size() ? path.get(i + 1) : from;
+            int dx = next[0] - cell[0];
+            int dy = next[1] - cell[1];
+            assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+            assertFalse(grid.isBlocked(cell[0], cell[1]));
+            assertFalse(grid.isBlocked(cell[0] + dx, cell[1]) || grid.isBlocked(cell[0], cell[1] + dy));
+            length += dx != 0 && dy != 0 ? Math.sqrt(2) : 1;
+        }
+        return length;
+    }
+
+    @Test
+    public void testPrunesOpenGrid() {
+        GridPathfinder grid = new GridPathfinder(100, 100);
+        PathfindingResult<int[]> result = grid.execute(new int[] { 0, 0 }, new int[] { 99, 60 });
+        assertTrue(result.isSuccess());
+        assertEquals(99, result.getPath().size());
+        assertEquals(39 + 60 * Math.sqrt(2), result.getDistance(), 1e-9);
+        assertTrue(result.getSearchSteps() < 10);
+    }
+
+    @Test
+    public void testBlockedTarget() {
+        GridPathfinder grid = new GridPathfinder(5, 5);
+        grid.setBlocked(3, 3, true);
+        assertTrue(grid.execute(new int[] { 0, 0 }, new int[] { 3, 3 }).isFailure());
+        assertTrue(grid.execute(new int[] { 0, 0 }, new int[] { 5, 0 }).isFailure());
+    }
+
+    @Test
+    public void testBlockedStart() {
+        GridPathfinder grid = new GridPathfinder(5, 5);
+        grid.setBlocked(1, 1, true);
+        assertTrue(grid.execute(new int[] { 1, 1 }, new int[] { 4, 4 }).isFailure());
+        assertTrue(grid.execute(new int[] { 1, 1 }, new int[] { 1, 1 }).isFailure());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartOutsideGrid() {
+        new GridPathfinder(5, 5).execute(new int[] { -1, 0 }, new int[] { 1, 1 });
+    }
+
+}
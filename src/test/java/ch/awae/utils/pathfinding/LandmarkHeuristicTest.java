@@ -0,0 +1,83 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LandmarkHeuristicTest {
+
+    @Test
+    public void testAdmissibleAndExact() {
+        TestGrid grid = new TestGrid(40, 40, 9);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        LandmarkHeuristic<Integer> landmarks = LandmarkHeuristic.build(graph, 8);
+        assertEquals(8, landmarks.getLandmarks().length);
+        // the heuristic replaces the euclidean one and ignores the spatial
+        // layout of the grid
+        GraphDataProvider<Integer> alt = grid.withHeuristic(landmarks);
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(grid);
+        Pathfinder<Integer> aStar = AStarPathfinder.create(alt);
+        Random random = new Random(10);
+        long referenceSteps = 0;
+        long aStarSteps = 0;
+        for (int i = 0; i < 50; i++) {
+            int from = graph.vertex(random.nextInt(graph.size()));
+            int to = graph.vertex(random.nextInt(graph.size()));
+            PathfindingResult<Integer> expected = reference.execute(from, to);
+            PathfindingResult<Integer> result = aStar.execute(from, to);
+            assertEquals(expected.isSuccess(), result.isSuccess());
+            if (expected.isSuccess()) {
+                assertTrue(landmarks.apply(from, to) <= expected.getDistance() + 1e-9);
+                assertEquals(expected.getDistance(), result.getDistance(), 1e-9);
+            }
+            referenceSteps += expected.getSearchSteps();
+            aStarSteps += result.getSearchSteps();
+        }
+        assertTrue(aStarSteps < referenceSteps);
+    }
+
+    @Test
+    public void testExplicitLandmarks() {
+        TestGrid grid = new TestGrid(10, 10, 11);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        LandmarkHeuristic<Integer> landmarks = LandmarkHeuristic.build(graph, new int[] { 0 });
+        for (int v = 0; v < graph.size(); v++) {
+            double distance = graph.distancesFrom(0)[v];
+            assertEquals(distance, landmarks.estimate(0, v), 1e-9);
+        }
+    }
+
+    @Test
+    public void testCountExceedsReachableComponent() {
+        // two components 0 <-> 1 and 2 <-> 3, only the first is reachable
+        // from the first root
+        GraphDataProvider<Integer> pairs = new GraphDataProvider<Integer>() {
+
+            @Override
+            public Iterable<Integer> getNeighbours(Integer vertex) {
+                return Arrays.asList(vertex ^ 1);
+            }
+
+            @Override
+            public Iterable<Integer> getReverseNeighbours(Integer vertex) {
+                return Arrays.asList(vertex ^ 1);
+            }
+
+            @Override
+            public double getDistance(Integer from, Integer to) {
+                return 1;
+            }
+        };
+        CompactGraph<Integer> graph = CompactGraph.compile(pairs, Arrays.asList(0, 2));
+        assertEquals(4, graph.size());
+        int[] landmarks = LandmarkHeuristic.build(graph, 4).getLandmarks();
+        assertEquals(2, landmarks.length);
+        assertNotEquals(landmarks[0], landmarks[1]);
+        for (int landmark : landmarks)
+            assertTrue(graph.distancesFrom(0)[landmark] != Double.POSITIVE_INFINITY);
+    }
+
+}
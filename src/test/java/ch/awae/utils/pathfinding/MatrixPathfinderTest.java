@@ -0,0 +1,57 @@
+package ch.awae.utils.pathfinding;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MatrixPathfinderTest {
+
+    @Test
+    public void testMatchesDijkstraPathfinder() {
+        TestGrid grid = new TestGrid(30, 30, 12);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        Random random = new Random(13);
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+            sources.add(graph.vertex(random.nextInt(graph.size())));
+        for (int i = 0; i < 8; i++)
+            targets.add(random.nextInt(900));
+        targets.add(-1);
+
+        DistanceMatrix<Integer> matrix = MatrixPathfinder.create(graph).manyToMany(sources, targets, true);
+        Pathfinder<Integer> reference = DijkstraPathfinder.create(grid);
+        for (int i = 0; i < sources.size(); i++) {
+            for (int j = 0; j < targets.size(); j++) {
+                PathfindingResult<Integer> expected = reference.execute(sources.get(i), targets.get(j));
+                if (expected.isSuccess()) {
+                    assertEquals(expected.getDistance(), matrix.getDistance(i, j), 1e-9);
+                    assertEquals(expected.getDistance(),
+                            CompactPathfinderTest.length(grid, sources.get(i), PathfindingResult.success(0, 0,
+                                    matrix.getPath(i, j))),
+                            1e-9);
+                } else {
+                    assertEquals(Double.POSITIVE_INFINITY, matrix.getDistance(i, j), 0);
+                    assertNull(matrix.getPath(i, j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOneToMany() {
+        TestGrid grid = new TestGrid(10, 10, 14);
+        CompactGraph<Integer> graph = CompactGraph.compile(grid, 0);
+        List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < graph.size(); i++)
+            targets.add(graph.vertex(i));
+        DistanceMatrix<Integer> matrix = MatrixPathfinder.create(graph).oneToMany(0, targets, false);
+        assertFalse(matrix.hasPaths());
+        assertArrayEquals(graph.distancesFrom(0), matrix.getDistances()[0], 0);
+    }
+
+}
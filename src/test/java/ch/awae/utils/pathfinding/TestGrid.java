@@ -0,0 +1,87 @@
+package ch.awae.utils.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Randomly weighted, 4-connected grid used as a test graph. The weights are at
+ * least 1, so the euclidean heuristic is admissible and consistent.
+ */
+class TestGrid implements GraphDataProvider<Integer> {
+
+    final int width;
+    final int height;
+    private final double[] weights;
+
+    TestGrid(int width, int height, long seed) {
+        this(width, height, seed, false);
+    }
+
+    /**
+     * @param realWeights
+     *            if {@code true} the weights are not integral, so that all
+     *            shortest paths are unique
+     */
+    TestGrid(int width, int height, long seed, boolean realWeights) {
+        this.width = width;
+        this.height = height;
+        this.weights = new double[width * height * 4];
+        Random random = new Random(seed);
+        for (int i = 0; i < weights.length; i++)
+            weights[i] = random.nextInt(10) == 0 ? Double.NaN
+                    : 1 + (realWeights ? 4 * random.nextDouble() : random.nextInt(5));
+    }
+
+    private int direction(int from, int to) {
+        if (to == from + 1)
+            return 0;
+        if (to == from - 1)
+            return 1;
+        return to > from ? 2 : 3;
+    }
+
+    @Override
+    public Iterable<Integer> getNeighbours(Integer vertex) {
+        int x = vertex % width;
+        int y = vertex / width;
+        List<Integer> neighbours = new ArrayList<>(4);
+        if (x + 1 < width)
+            neighbours.add(vertex + 1);
+        if (x > 0)
+            neighbours.add(vertex - 1);
+        if (y + 1 < height)
+            neighbours.add(vertex + width);
+        if (y > 0)
+            neighbours.add(vertex - width);
+        // edges with a NaN weight are missing
+        neighbours.removeIf(n -> Double.isNaN(weights[4 * vertex + direction(vertex, n)]));
+        return neighbours;
+    }
+
+    @Override
+    public Iterable<Integer> getReverseNeighbours(Integer vertex) {
+        List<Integer> predecessors = new ArrayList<>(4);
+        for (int candidate : new int[] { vertex + 1, vertex - 1, vertex + width, vertex - width }) {
+            if (candidate < 0 || candidate >= width * height)
+                continue;
+            for (Integer n : getNeighbours(candidate))
+                if (n.equals(vertex))
+                    predecessors.add(candidate);
+        }
+        return predecessors;
+    }
+
+    @Override
+    public double getDistance(Integer from, Integer to) {
+        return weights[4 * from + direction(from, to)];
+    }
+
+    @Override
+    public double getHeuristicDistance(Integer from, Integer to) {
+        double dx = from % width - to % width;
+        double dy = from / width - to / width;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+}